@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of the booker and owner booking listings of {@link BookingService} for every state,
+ * with the page requests built as in {@code BookingController}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final int OWNERS = 100;
+    private static final int ITEMS_PER_OWNER = 50;
+    private static final int BOOKERS = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000", "1000000"})
+    private int bookings;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private String state;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private BookingService bookingService;
+    private long ownerId;
+    private long bookerId;
+    private Pageable bookerPage;
+    private Pageable ownerPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        bookingService = context.getBean(BookingService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        DataSeeder seeder = new DataSeeder(jdbcTemplate);
+        for (int i = 0; i < OWNERS; i++) {
+            long id = seeder.seedUser("owner" + i);
+            seeder.seedItems(id, ITEMS_PER_OWNER);
+            if (i == OWNERS / 2) {
+                ownerId = id;
+            }
+        }
+        for (int i = 0; i < BOOKERS; i++) {
+            long id = seeder.seedUser("booker" + i);
+            seeder.seedBookings(id, bookings / BOOKERS);
+            if (i == BOOKERS / 2) {
+                bookerId = id;
+            }
+        }
+        jdbcTemplate.execute("analyze");
+        bookerPage = PageRequest.of(0, PAGE_SIZE, Sort.by("start").descending().and(Sort.by("id").descending()));
+        ownerPage = PageRequest.of(0, PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> findBookingsByState() {
+        return ServerContext.inRequest(entityManagerFactory,
+                () -> bookingService.findBookingsByState(bookerId, state, bookerPage));
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> findBookingByStateForOwner() {
+        return ServerContext.inRequest(entityManagerFactory,
+                () -> bookingService.findBookingByStateForOwner(ownerId, state, ownerPage));
+    }
+}
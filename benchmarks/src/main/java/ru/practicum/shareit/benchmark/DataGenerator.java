@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fills a ShareIt database with synthetic users, items, requests, bookings and comments through
+ * {@link DataSeeder}, bypassing the REST API. The schema scripts of shareit-server are applied first,
+ * so an empty database can be seeded before the server is started.
+ * <p>
+ * Arguments are key=value pairs: url, username, password (JDBC connection), users, items, requests,
+ * request-items (max items answering a request), bookings, comments (row counts) and skew
+ * (Zipf exponent of owners, bookers, authors and items, 0 for uniform).
+ */
+public class DataGenerator {
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        options.put("url", "jdbc:postgresql://localhost:6541/shareit?reWriteBatchedInserts=true");
+        options.put("username", "root");
+        options.put("password", "root");
+        options.put("users", "100000");
+        options.put("items", "1000000");
+        options.put("requests", "100000");
+        options.put("request-items", "3");
+        options.put("bookings", "5000000");
+        options.put("comments", "1000000");
+        options.put("skew", "1.0");
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        System.out.println(options);
+        double skew = Double.parseDouble(options.get("skew"));
+
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(options.get("url"),
+                options.get("username"), options.get("password"), true);
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        if (options.get("url").startsWith("jdbc:postgresql:")) {
+            schema.addScript(new ClassPathResource("schema-postgresql.sql"));
+        }
+        schema.execute(dataSource);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSeeder seeder = new DataSeeder(jdbcTemplate);
+        String prefix = "user-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        long start = System.nanoTime();
+        List<Long> userIds = seeder.seedUsers(prefix, Integer.parseInt(options.get("users")));
+        start = report("users", start);
+        seeder.seedItems(userIds, skew, Integer.parseInt(options.get("items")));
+        start = report("items", start);
+        seeder.seedRequests(userIds, skew, Integer.parseInt(options.get("requests")));
+        start = report("requests", start);
+        seeder.seedRequestItems(userIds, skew, Integer.parseInt(options.get("request-items")));
+        start = report("request items", start);
+        seeder.seedBookings(userIds, skew, Integer.parseInt(options.get("bookings")));
+        start = report("bookings", start);
+        seeder.seedComments(userIds, skew, Integer.parseInt(options.get("comments")));
+        start = report("comments", start);
+        jdbcTemplate.execute("analyze");
+        report("analyze", start);
+        dataSource.destroy();
+    }
+
+    private static long report(String step, long start) {
+        long end = System.nanoTime();
+        System.out.printf("%s: %.1f s%n", step, (end - start) / 1e9);
+        return end;
+    }
+}
@@ -0,0 +1,205 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Inserts rows straight through JDBC batches. Owners, bookers, authors and items are picked by
+ * {@link ZipfSampler} with the given skew, so the first ids of each list get most of the rows.
+ * Approved bookings of an item never overlap, as PostgreSQL's {@code bookings_approved_no_overlap}
+ * requires, also with those of earlier runs on the same database; once the two-year booking window
+ * of an item is full, the remaining bookings are rejected.
+ */
+public class DataSeeder {
+    static final String[] NOUNS = {"drill", "hammer", "saw", "ladder", "tent",
+            "bike", "camera", "kayak", "grill", "projector"};
+    static final String[] ADJECTIVES = {"cordless", "electric", "old", "new",
+            "heavy", "compact", "folding", "professional"};
+
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "WAITING", "REJECTED"};
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long WINDOW_SECONDS = Duration.ofDays(365).toSeconds();
+    private static final long MAX_GAP_SECONDS = Duration.ofDays(30).toSeconds();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+    private final LocalDateTime now = LocalDateTime.now();
+    private List<Long> bookedItemIds = List.of();
+    private long[] approvedUntil = new long[0];
+
+    public DataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long seedUser(String name) {
+        String email = name + "@bench.email";
+        jdbcTemplate.update("insert into users (name, email) values (?, ?)", name, email);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Long.class, email);
+    }
+
+    public List<Long> seedUsers(String prefix, int count) {
+        batchInsert("insert into users (name, email) values (?, ?)", count,
+                i -> new Object[]{prefix + i, prefix + i + "@bench.email"});
+        return jdbcTemplate.queryForList("select id from users where email like ? order by id", Long.class,
+                prefix + "%@bench.email");
+    }
+
+    public void seedItems(long ownerId, int count) {
+        seedItems(List.of(ownerId), 0, count);
+    }
+
+    public void seedItems(List<Long> ownerIds, double skew, int count) {
+        ZipfSampler owners = new ZipfSampler(ownerIds.size(), skew);
+        batchInsert("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)", count,
+                i -> {
+                    String noun = pick(NOUNS);
+                    return new Object[]{
+                            pick(ADJECTIVES) + " " + noun,
+                            pick(ADJECTIVES) + " " + noun + " number " + i,
+                            random.nextInt(10) != 0,
+                            ownerIds.get(owners.next(random))};
+                });
+    }
+
+    public void seedBookings(long bookerId, int count) {
+        seedBookings(List.of(bookerId), 0, count);
+    }
+
+    public void seedBookings(List<Long> bookerIds, double skew, int count) {
+        List<Long> itemIds = itemIds();
+        if (!itemIds.equals(bookedItemIds)) {
+            bookedItemIds = itemIds;
+            approvedUntil = approvedUntil(itemIds);
+        }
+        ZipfSampler items = new ZipfSampler(itemIds.size(), skew);
+        ZipfSampler bookers = new ZipfSampler(bookerIds.size(), skew);
+        batchInsert("insert into bookings (start_date, end_date, item_id, user_id, status) values (?, ?, ?, ?, ?)",
+                count, i -> {
+                    int item = items.next(random);
+                    long duration = Duration.ofDays(1 + random.nextInt(7)).toSeconds();
+                    long start = random.nextInt((int) (2 * WINDOW_SECONDS)) - WINDOW_SECONDS;
+                    String status = pick(STATUSES);
+                    if (status.equals("APPROVED")) {
+                        long approvedStart = approvedUntil[item] + random.nextInt((int) MAX_GAP_SECONDS);
+                        if (approvedStart + duration <= WINDOW_SECONDS) {
+                            start = approvedStart;
+                            approvedUntil[item] = start + duration;
+                        } else {
+                            status = "REJECTED";
+                        }
+                    }
+                    return new Object[]{
+                            Timestamp.valueOf(now.plusSeconds(start)),
+                            Timestamp.valueOf(now.plusSeconds(start + duration)),
+                            itemIds.get(item),
+                            bookerIds.get(bookers.next(random)),
+                            status};
+                });
+    }
+
+    public void seedComments(List<Long> authorIds, int count) {
+        seedComments(authorIds, 0, count);
+    }
+
+    public void seedComments(List<Long> authorIds, double skew, int count) {
+        List<Long> itemIds = itemIds();
+        ZipfSampler items = new ZipfSampler(itemIds.size(), skew);
+        ZipfSampler authors = new ZipfSampler(authorIds.size(), skew);
+        batchInsert("insert into comments (text, item_id, author_id, created_date) values (?, ?, ?, ?)", count,
+                i -> new Object[]{
+                        pick(ADJECTIVES) + " and " + pick(ADJECTIVES) + ", comment number " + i,
+                        itemIds.get(items.next(random)),
+                        authorIds.get(authors.next(random)),
+                        Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365)))});
+    }
+
+    public void seedRequests(long requestorId, int count) {
+        seedRequests(List.of(requestorId), 0, count);
+    }
+
+    public void seedRequests(List<Long> requestorIds, double skew, int count) {
+        ZipfSampler requestors = new ZipfSampler(requestorIds.size(), skew);
+        batchInsert("insert into requests (description, requestor_id, created_date) values (?, ?, ?)", count,
+                i -> new Object[]{
+                        "need a " + pick(ADJECTIVES) + " " + pick(NOUNS) + ", request number " + i,
+                        requestorIds.get(requestors.next(random)),
+                        Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 365)))});
+    }
+
+    public void seedRequestItems(long ownerId, int maxPerRequest) {
+        seedRequestItems(List.of(ownerId), 0, maxPerRequest);
+    }
+
+    /**
+     * Answers every request without items by up to {@code maxPerRequest} items.
+     */
+    public void seedRequestItems(List<Long> ownerIds, double skew, int maxPerRequest) {
+        List<Long> requestIds = jdbcTemplate.queryForList("select r.id from requests r " +
+                "where not exists (select 1 from items i where i.request_id = r.id) order by r.id", Long.class);
+        List<Long> answers = new ArrayList<>();
+        for (long requestId : requestIds) {
+            for (int i = random.nextInt(maxPerRequest + 1); i > 0; i--) {
+                answers.add(requestId);
+            }
+        }
+        ZipfSampler owners = new ZipfSampler(ownerIds.size(), skew);
+        batchInsert("insert into items (name, description, is_available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?)", answers.size(), i -> new Object[]{
+                        pick(ADJECTIVES) + " " + pick(NOUNS),
+                        "answer to request " + answers.get(i),
+                        true,
+                        ownerIds.get(owners.next(random)),
+                        answers.get(i)});
+    }
+
+    /**
+     * End of the last approved booking of each item in seconds from {@code now}, rounded up, so that a run
+     * on a populated database continues the approved windows of earlier runs instead of overlapping them.
+     */
+    private long[] approvedUntil(List<Long> itemIds) {
+        Map<Long, Long> approvedEnds = new HashMap<>();
+        jdbcTemplate.query("select item_id, max(end_date) from bookings where status = 'APPROVED' group by item_id",
+                (RowCallbackHandler) rs -> {
+                    Duration end = Duration.between(now, rs.getTimestamp(2).toLocalDateTime());
+                    approvedEnds.put(rs.getLong(1), end.getSeconds() + (end.getNano() > 0 ? 1 : 0));
+                });
+        long[] until = new long[itemIds.size()];
+        for (int i = 0; i < until.length; i++) {
+            until[i] = Math.max(approvedEnds.getOrDefault(itemIds.get(i), -WINDOW_SECONDS), -WINDOW_SECONDS);
+        }
+        return until;
+    }
+
+    private List<Long> itemIds() {
+        return jdbcTemplate.queryForList("select id from items order by id", Long.class);
+    }
+
+    private void batchInsert(String sql, int count, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private String pick(String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
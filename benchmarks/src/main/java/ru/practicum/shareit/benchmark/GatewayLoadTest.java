@@ -0,0 +1,204 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the blocking and the asynchronous forwarding engines of the gateway. A stub stands in for
+ * shareit-server and answers every request after a fixed delay; the gateway jar is started once per engine
+ * with a small Tomcat thread pool and loaded with a fixed number of in-flight requests.
+ * An engine with the {@code -virtual} suffix, e.g. {@code blocking-virtual}, runs the gateway on virtual threads,
+ * which needs {@code java} to point to JDK 21+.
+ * <p>
+ * Arguments are key=value pairs: concurrency, duration (seconds), delay (stub latency, ms),
+ * threads (gateway Tomcat threads), engines (comma separated), jar (gateway jar path)
+ * and java (java executable for the gateway).
+ */
+public class GatewayLoadTest {
+    private static final String VIRTUAL_SUFFIX = "-virtual";
+    private static final String RESPONSE = "{\"id\":1,\"name\":\"user\",\"email\":\"user@email.com\"}";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        options.put("concurrency", "1000");
+        options.put("duration", "20");
+        options.put("delay", "50");
+        options.put("threads", "20");
+        options.put("engines", "blocking,async");
+        options.put("jar", "../gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar");
+        options.put("java", "java");
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+
+        HttpServer stub = startStub(Long.parseLong(options.get("delay")));
+        try {
+            List<String> results = new ArrayList<>();
+            for (String engine : options.get("engines").split(",")) {
+                int port = freePort();
+                Process gateway = startGateway(options.get("java"), options.get("jar"), engine,
+                        options.get("threads"), port, stub.getAddress().getPort());
+                try {
+                    results.add(engine + ": " + load(port, concurrency, duration));
+                } finally {
+                    gateway.destroy();
+                    gateway.waitFor(30, TimeUnit.SECONDS);
+                }
+            }
+            System.out.println(options);
+            results.forEach(System.out::println);
+        } finally {
+            stub.stop(0);
+        }
+        System.exit(0);
+    }
+
+    private static HttpServer startStub(long delayMillis) throws IOException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        byte[] response = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        stub.createContext("/", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        });
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.start();
+        return stub;
+    }
+
+    private static Process startGateway(String java, String jar, String engine, String threads, int port,
+                                        int stubPort) throws Exception {
+        boolean virtual = engine.endsWith(VIRTUAL_SUFFIX);
+        List<String> command = new ArrayList<>(Arrays.asList(
+                java, "-jar", new File(jar).getAbsolutePath(),
+                "--server.port=" + port,
+                "--server.tomcat.threads.max=" + threads,
+                "--shareit-server.url=http://localhost:" + stubPort,
+                "--shareit-server.client.engine=" + engine.replace(VIRTUAL_SUFFIX, ""),
+                "--shareit.virtual-threads.enabled=" + virtual,
+                "--shareit-server.client.max-connections=10000",
+                "--shareit-server.client.max-connections-per-route=10000",
+                "--logging.level.root=WARN",
+                "--logging.level.org.apache.http=WARN",
+                "--logging.level.httpclient.wire=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                "--logging.level.ru.practicum.shareit=WARN"));
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return process;
+                }
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        process.destroy();
+        throw new IllegalStateException("Gateway with " + engine + " engine didn't start");
+    }
+
+    private static String load(int port, int concurrency, Duration duration) {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        warmUp(client, request);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<CompletableFuture<Void>> users = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            users.add(run(client, request, deadline, latencies, errors));
+        }
+        CompletableFuture.allOf(users.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdownNow();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return String.format("%d requests, %.0f req/s, p50=%.1f ms, p99=%.1f ms, max=%.1f ms, errors=%d",
+                sorted.length, sorted.length / seconds, percentile(sorted, 0.5), percentile(sorted, 0.99),
+                percentile(sorted, 1.0), errors.get());
+    }
+
+    private static void warmUp(HttpClient client, HttpRequest request) {
+        List<CompletableFuture<HttpResponse<Void>>> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+    }
+
+    private static CompletableFuture<Void> run(HttpClient client, HttpRequest request, long deadline,
+                                               ConcurrentLinkedQueue<Long> latencies, AtomicInteger errors) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, e) -> {
+                    if (e != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    } else {
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> run(client, request, deadline, latencies, errors));
+    }
+
+    static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a read workload against a running gateway and reports throughput and latency percentiles per route.
+ * User and item ids are read from the database, e.g. one filled by {@link DataGenerator}, and picked with
+ * the same Zipf skew, so power users and hot items get most of the requests.
+ * <p>
+ * In the closed model {@code concurrency} clients send the next request as soon as the previous one completes.
+ * In the open model requests start at a fixed {@code rate} whatever the response times are, and latency
+ * is counted from the scheduled start, so that queueing in the gateway and the server is not hidden.
+ * <p>
+ * Arguments are key=value pairs: url (gateway), mode (closed or open), concurrency, rate (requests per second),
+ * warmup and duration (seconds), skew, mix (route:weight pairs, comma separated, routes are user, items, item,
+ * search, bookings, owner-bookings and requests) and db-url, db-username, db-password.
+ */
+public class GatewayWorkload {
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String url;
+    private final List<Long> userIds;
+    private final List<Long> itemIds;
+    private final ZipfSampler users;
+    private final ZipfSampler items;
+    private final List<Route> routes = new ArrayList<>();
+    private final int totalWeight;
+    private final HttpClient client;
+    private volatile long measureFrom;
+
+    GatewayWorkload(String url, List<Long> userIds, List<Long> itemIds, double skew, Map<String, Integer> mix,
+                    HttpClient client) {
+        this.url = url;
+        this.userIds = userIds;
+        this.itemIds = itemIds;
+        this.users = new ZipfSampler(userIds.size(), skew);
+        this.items = new ZipfSampler(itemIds.size(), skew);
+        this.client = client;
+        int weight = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            weight += entry.getValue();
+            routes.add(new Route(entry.getKey(), weight));
+            request(entry.getKey(), new Random());
+        }
+        totalWeight = weight;
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        options.put("url", "http://localhost:8080");
+        options.put("mode", "closed");
+        options.put("concurrency", "50");
+        options.put("rate", "500");
+        options.put("warmup", "10");
+        options.put("duration", "60");
+        options.put("skew", "1.0");
+        options.put("mix", "user:5,items:15,item:30,search:10,bookings:15,owner-bookings:15,requests:10");
+        options.put("db-url", "jdbc:postgresql://localhost:6541/shareit");
+        options.put("db-username", "root");
+        options.put("db-password", "root");
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        System.out.println(options);
+
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(options.get("db-url"),
+                options.get("db-username"), options.get("db-password"), true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Long> userIds = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+        List<Long> itemIds = jdbcTemplate.queryForList("select id from items order by id", Long.class);
+        dataSource.destroy();
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String route : options.get("mix").split(",")) {
+            String[] pair = route.split(":", 2);
+            mix.put(pair[0], Integer.parseInt(pair[1]));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        GatewayWorkload workload = new GatewayWorkload(options.get("url"), userIds, itemIds,
+                Double.parseDouble(options.get("skew")), mix, client);
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+        if (options.get("mode").equals("open")) {
+            workload.runOpen(Integer.parseInt(options.get("rate")), warmup, duration);
+        } else {
+            workload.runClosed(Integer.parseInt(options.get("concurrency")), warmup, duration);
+        }
+        workload.report(duration).forEach(System.out::println);
+        executor.shutdownNow();
+    }
+
+    void runClosed(int concurrency, Duration warmup, Duration duration) {
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            clients.add(runClient(deadline));
+        }
+        CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+    }
+
+    void runOpen(int rate, Duration warmup, Duration duration) {
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (long scheduled = start; scheduled < deadline; scheduled += interval) {
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            requests.add(send(scheduled));
+        }
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+    }
+
+    List<String> report(Duration duration) {
+        List<String> lines = new ArrayList<>();
+        long total = 0;
+        for (Route route : routes) {
+            long[] sorted = route.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            total += sorted.length;
+            lines.add(String.format("%-15s %8d requests, %7.1f req/s, p50=%.1f ms, p95=%.1f ms, p99=%.1f ms, " +
+                            "max=%.1f ms, errors=%d", route.name, sorted.length,
+                    sorted.length / (double) duration.toSeconds(), GatewayLoadTest.percentile(sorted, 0.5),
+                    GatewayLoadTest.percentile(sorted, 0.95), GatewayLoadTest.percentile(sorted, 0.99),
+                    GatewayLoadTest.percentile(sorted, 1.0), route.errors.get()));
+        }
+        lines.add(String.format("%-15s %8d requests, %7.1f req/s", "total", total,
+                total / (double) duration.toSeconds()));
+        return lines;
+    }
+
+    private CompletableFuture<Void> runClient(long deadline) {
+        long sent = System.nanoTime();
+        if (sent >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return send(sent).thenCompose(ignored -> runClient(deadline));
+    }
+
+    private CompletableFuture<Void> send(long scheduled) {
+        Random random = ThreadLocalRandom.current();
+        int pick = random.nextInt(totalWeight);
+        Route route = routes.stream()
+                .filter(candidate -> pick < candidate.weightUpTo)
+                .findFirst()
+                .orElseThrow();
+        return client.sendAsync(request(route.name, random), HttpResponse.BodyHandlers.discarding())
+                .handle((response, e) -> {
+                    if (scheduled < measureFrom) {
+                        return null;
+                    }
+                    if (e != null || response.statusCode() != 200) {
+                        route.errors.incrementAndGet();
+                    } else {
+                        route.latencies.add(System.nanoTime() - scheduled);
+                    }
+                    return null;
+                });
+    }
+
+    private HttpRequest request(String route, Random random) {
+        long userId = userIds.get(users.next(random));
+        String state = STATES[random.nextInt(STATES.length)];
+        String path;
+        switch (route) {
+            case "user":
+                path = "/users/" + userId;
+                break;
+            case "items":
+                path = "/items?from=0&size=20";
+                break;
+            case "item":
+                path = "/items/" + itemIds.get(items.next(random));
+                break;
+            case "search":
+                path = "/items/search?text=" + DataSeeder.NOUNS[random.nextInt(DataSeeder.NOUNS.length)] +
+                        "&from=0&size=20";
+                break;
+            case "bookings":
+                path = "/bookings?state=" + state + "&from=0&size=20";
+                break;
+            case "owner-bookings":
+                path = "/bookings/owner?state=" + state + "&from=0&size=20";
+                break;
+            case "requests":
+                path = "/requests/all?from=0&size=20";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown route: " + route);
+        }
+        return HttpRequest.newBuilder(URI.create(url + path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static class Route {
+        private final String name;
+        private final int weightUpTo;
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger errors = new AtomicInteger();
+
+        Route(String name, int weightUpTo) {
+            this.name = name;
+            this.weightUpTo = weightUpTo;
+        }
+    }
+}
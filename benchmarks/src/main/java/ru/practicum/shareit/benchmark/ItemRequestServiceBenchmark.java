@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages of other users' requests returned by {@link ItemRequestService#getAllItemRequests}, each request
+ * answered by up to {@code itemsPerRequest} items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    private int requests;
+
+    @Param({"5"})
+    private int itemsPerRequest;
+
+    @Param({"0", "5000"})
+    private int from;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private ItemRequestService itemRequestService;
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        DataSeeder seeder = new DataSeeder(jdbcTemplate);
+        seeder.seedRequests(seeder.seedUser("requestor"), requests);
+        seeder.seedRequestItems(seeder.seedUser("owner"), itemsPerRequest);
+        userId = seeder.seedUser("viewer");
+        seeder.seedRequests(userId, requests / 10);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllItemRequests() {
+        return ServerContext.inRequest(entityManagerFactory,
+                () -> itemRequestService.getAllItemRequests(userId, from, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPQL LIKE query behind /items/search with the in-memory {@link ItemSearchIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("id"));
+
+    @Param({"10000", "100000"})
+    private int items;
+
+    @Param({"kayak", "cordless drill"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ItemSearchIndex itemSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start("shareit.item.search-index.enabled=true");
+        itemRepository = context.getBean(ItemRepository.class);
+        itemSearchIndex = context.getBean(ItemSearchIndex.class);
+
+        DataSeeder seeder = new DataSeeder(context.getBean(JdbcTemplate.class));
+        seeder.seedItems(seeder.seedUser("owner"), items);
+        itemSearchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> jpqlSearch() {
+        return itemRepository.search(query, PAGE);
+    }
+
+    @Benchmark
+    public List<Item> indexSearch() {
+        return itemRepository.findAllById(itemSearchIndex.search(query, PAGE));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithDateAndCommentsDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owner item listing, single item view and search of {@link ItemService} over {@code owners} owners
+ * with 50 items each, {@code bookings} bookings and {@code comments} comments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final int ITEMS_PER_OWNER = 50;
+    private static final int BOOKERS = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "1000"})
+    private int owners;
+
+    @Param({"10000", "100000"})
+    private int bookings;
+
+    @Param({"10000"})
+    private int comments;
+
+    @Param({"cordless drill"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private ItemService itemService;
+    private long ownerId;
+    private long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        itemService = context.getBean(ItemService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        DataSeeder seeder = new DataSeeder(jdbcTemplate);
+        for (int i = 0; i < owners; i++) {
+            long id = seeder.seedUser("owner" + i);
+            seeder.seedItems(id, ITEMS_PER_OWNER);
+            if (i == owners / 2) {
+                ownerId = id;
+            }
+        }
+        List<Long> bookerIds = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            long id = seeder.seedUser("booker" + i);
+            seeder.seedBookings(id, bookings / BOOKERS);
+            bookerIds.add(id);
+        }
+        seeder.seedComments(bookerIds, comments);
+        jdbcTemplate.execute("analyze");
+        itemId = jdbcTemplate.queryForObject("select min(id) from items where owner_id = ?", Long.class, ownerId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemWithDateAndCommentsDto> findItemsByUserId() {
+        return ServerContext.inRequest(entityManagerFactory,
+                () -> itemService.findItemsByUserId(ownerId, 0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public ItemWithDateAndCommentsDto findItemById() {
+        return ServerContext.inRequest(entityManagerFactory, () -> itemService.findItemById(ownerId, itemId));
+    }
+
+    @Benchmark
+    public List<ItemDto> getItemsByQuery() {
+        return ServerContext.inRequest(entityManagerFactory,
+                () -> itemService.getItemsByQuery(ownerId, query, 0, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former IN-subquery owner booking query with the direct join used by {@link BookingRepository},
+ * with and without the indexes declared in schema.sql. Query plans of both forms are printed on setup.
+ * H2 indexes foreign keys implicitly, so the index effect shows up only when {@code url} points to PostgreSQL.
+ * {@code OwnerBookingsBenchmarkTest} runs both queries once, so that a change of the repository queries
+ * breaks the build rather than the benchmark run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerBookingsBenchmark {
+    private static final int OWNERS = 100;
+    private static final int ITEMS_PER_OWNER = 50;
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Both forms select the {@link BookingResponseDto} projection of the repository, so they differ only
+     * in how the bookings of the owner are found.
+     */
+    static final String SUBQUERY_JPQL = BookingRepository.RESPONSE_QUERY +
+            "where it.id in " +
+            "(select i.id from Item as i " +
+            "where i.ownerId = ?1) " +
+            "order by b.start desc, b.id desc";
+
+    static final String JOIN_JPQL = BookingRepository.QUERY + " order by b.start desc, b.id desc";
+
+    private static final String SUBQUERY_SQL = "select b.* from bookings b " +
+            "join items it on it.id = b.item_id " +
+            "where it.id in (select i.id from items i where i.owner_id = ?) " +
+            "order by b.start_date desc, b.id desc limit " + PAGE_SIZE;
+
+    private static final String JOIN_SQL = "select b.* from bookings b " +
+            "join items it on it.id = b.item_id " +
+            "where it.owner_id = ? " +
+            "order by b.start_date desc, b.id desc limit " + PAGE_SIZE;
+
+    private static final String[] INDEXES = {"items_owner_id_idx",
+            "bookings_item_id_start_date_idx", "bookings_user_id_start_date_idx"};
+
+    @Param({"100000", "1000000"})
+    int bookings;
+
+    @Param({"true", "false"})
+    boolean indexes;
+
+    /**
+     * PostgreSQL JDBC URL, e.g. {@code jdbc:postgresql://localhost:5432/shareit?user=root&password=root};
+     * the tables there are emptied on every trial. Empty runs on the in-memory H2.
+     */
+    @Param({""})
+    String url;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.startOn(url);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!url.isEmpty()) {
+            jdbcTemplate.execute("truncate table comments, bookings, items, requests, users restart identity");
+        }
+        if (!indexes) {
+            for (String index : INDEXES) {
+                jdbcTemplate.execute("drop index if exists " + index);
+            }
+        }
+
+        DataSeeder seeder = new DataSeeder(jdbcTemplate);
+        for (int i = 0; i < OWNERS; i++) {
+            long id = seeder.seedUser("owner" + i);
+            seeder.seedItems(id, ITEMS_PER_OWNER);
+            if (i == OWNERS / 2) {
+                ownerId = id;
+            }
+        }
+        seeder.seedBookings(seeder.seedUser("booker"), bookings);
+        jdbcTemplate.execute("analyze");
+
+        printPlan(jdbcTemplate, "IN-subquery", SUBQUERY_SQL);
+        printPlan(jdbcTemplate, "join", JOIN_SQL);
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> subqueryOwnerBookings() {
+        return query(SUBQUERY_JPQL);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> joinOwnerBookings() {
+        return query(JOIN_JPQL);
+    }
+
+    private List<BookingResponseDto> query(String jpql) {
+        List<BookingResponseDto> result = entityManager.createQuery(jpql, BookingResponseDto.class)
+                .setParameter(1, ownerId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        entityManager.clear();
+        return result;
+    }
+
+    private void printPlan(JdbcTemplate jdbcTemplate, String name, String sql) {
+        String plan = String.join(System.lineSeparator(),
+                jdbcTemplate.queryForList("explain analyze " + sql, String.class, ownerId));
+        System.out.println("Plan of " + name + " query (indexes=" + indexes + "):");
+        System.out.println(plan);
+    }
+}
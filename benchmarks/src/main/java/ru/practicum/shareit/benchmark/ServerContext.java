@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.ShareItServer;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public final class ServerContext {
+    private static final List<String> QUIET_PROPERTIES = List.of(
+            "spring.jpa.properties.hibernate.show_sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "logging.level.root=WARN",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "logging.level.org.springframework.transaction.interceptor=WARN",
+            "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+            "logging.level.ru.practicum.shareit=WARN"
+    );
+
+    private ServerContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return startOn("", properties);
+    }
+
+    /**
+     * Starts the server on the in-memory H2 of the {@code test} profile or, when {@code url} is not empty,
+     * on that PostgreSQL database with the default profile, whose schema scripts then create the
+     * PostgreSQL-only indexes and constraints as well.
+     */
+    public static ConfigurableApplicationContext startOn(String url, String... properties) {
+        List<String> args = new ArrayList<>();
+        for (String property : QUIET_PROPERTIES) {
+            args.add("--" + property);
+        }
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        SpringApplicationBuilder application = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE);
+        if (url.isEmpty()) {
+            application.profiles("test");
+        } else {
+            args.add("--spring.datasource.url=" + url);
+        }
+        return application.run(args.toArray(new String[0]));
+    }
+
+    /**
+     * Runs {@code call} with an entity manager bound to the thread, as the open-in-view interceptor does
+     * for a web request, so that lazy associations touched by the service mappers can be loaded.
+     */
+    public static <T> T inRequest(EntityManagerFactory entityManagerFactory, Supplier<T> call) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return call.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks indexes from 0 to n - 1, index k with probability proportional to 1 / (k + 1)^exponent,
+ * so low indexes stand for power users and hot items. Exponent 0 gives the uniform distribution.
+ */
+class ZipfSampler {
+    private final int size;
+    private final double[] cumulative;
+
+    ZipfSampler(int size, double exponent) {
+        this.size = size;
+        if (exponent == 0) {
+            cumulative = null;
+            return;
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+    }
+
+    int next(Random random) {
+        if (cumulative == null) {
+            return random.nextInt(size);
+        }
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[size - 1]);
+        return index >= 0 ? index : Math.min(-index - 1, size - 1);
+    }
+}
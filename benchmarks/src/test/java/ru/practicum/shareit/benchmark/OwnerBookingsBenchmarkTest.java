@@ -0,0 +1,38 @@
+package ru.practicum.shareit.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+class OwnerBookingsBenchmarkTest {
+    private final OwnerBookingsBenchmark benchmark = new OwnerBookingsBenchmark();
+
+    @BeforeEach
+    void setUp() {
+        benchmark.bookings = 1000;
+        benchmark.indexes = true;
+        benchmark.url = "";
+        benchmark.setUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        benchmark.tearDown();
+    }
+
+    @Test
+    void ownerBookings_whenSubqueryAndJoin_thenSamePage() {
+        List<BookingResponseDto> join = benchmark.joinOwnerBookings();
+
+        assertThat(join, not(empty()));
+        assertThat(benchmark.subqueryOwnerBookings(), equalTo(join));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Marks a request for debug tracing when it carries {@code X-Debug-Trace: true} or is picked by
+ * {@code shareit.logging.trace.sample-rate}. While the request is handled the {@code trace} MDC key is set,
+ * and {@link RequestTraceTurboFilter} lets DEBUG and TRACE events of the configured loggers through.
+ */
+@Component
+public class RequestTraceFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Debug-Trace";
+    public static final String MDC_KEY = "trace";
+
+    private final boolean headerEnabled;
+    private final double sampleRate;
+
+    public RequestTraceFilter(@Value("${shareit.logging.trace.header-enabled:true}") boolean headerEnabled,
+                              @Value("${shareit.logging.trace.sample-rate:0}") double sampleRate) {
+        this.headerEnabled = headerEnabled;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isTraced(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, "on");
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    private boolean isTraced(HttpServletRequest request) {
+        if (headerEnabled && "true".equalsIgnoreCase(request.getHeader(HEADER))) {
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
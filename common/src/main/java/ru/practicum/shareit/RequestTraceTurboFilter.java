@@ -0,0 +1,37 @@
+package ru.practicum.shareit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.List;
+
+/**
+ * Accepts events of {@code loggers} and their children at any level on threads marked by {@link RequestTraceFilter},
+ * other events are left to the logger levels. Configured in logback-spring.xml.
+ */
+public class RequestTraceTurboFilter extends TurboFilter {
+    private List<String> loggers = List.of();
+
+    public void setLoggers(String loggers) {
+        this.loggers = List.of(loggers.trim().split("\\s*,\\s*"));
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (MDC.get(RequestTraceFilter.MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : loggers) {
+            if (name.equals(prefix) || name.startsWith(prefix + ".")) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
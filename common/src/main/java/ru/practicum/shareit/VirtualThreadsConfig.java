@@ -0,0 +1,47 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in execution mode in which Tomcat handles every request, including blocking gateway calls to the server
+ * and the server's JDBC work, on a new virtual thread, so {@code server.tomcat.threads.max} no longer caps
+ * the number of requests in flight.
+ * Virtual threads need JDK 21+; on older runtimes the platform thread pool is kept.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> newVirtualThreadExecutor().ifPresent(executor -> {
+            protocolHandler.setExecutor(executor);
+            log.info("Tomcat requests are handled on virtual threads");
+        });
+    }
+
+    /**
+     * Looked up reflectively because the sources are compiled for Java 11.
+     */
+    public static Optional<ExecutorService> newVirtualThreadExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not supported by Java {}, platform threads are used",
+                    Runtime.version().feature());
+            return Optional.empty();
+        }
+    }
+}
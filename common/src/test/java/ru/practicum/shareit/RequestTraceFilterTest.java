@@ -0,0 +1,51 @@
+package ru.practicum.shareit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class RequestTraceFilterTest {
+
+    @Test
+    void doFilter_whenTraceHeader_thenTracedDuringRequestOnly() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestTraceFilter.HEADER, "true");
+
+        assertThat(traceDuring(new RequestTraceFilter(true, 0), request), equalTo("on"));
+        assertThat(MDC.get(RequestTraceFilter.MDC_KEY), nullValue());
+    }
+
+    @Test
+    void doFilter_whenTraceHeaderDisabled_thenNotTraced() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestTraceFilter.HEADER, "true");
+
+        assertThat(traceDuring(new RequestTraceFilter(false, 0), request), nullValue());
+    }
+
+    @Test
+    void doFilter_whenNoHeaderAndFullSampleRate_thenTraced() {
+        assertThat(traceDuring(new RequestTraceFilter(true, 1), new MockHttpServletRequest()), equalTo("on"));
+    }
+
+    @Test
+    void doFilter_whenNoHeaderAndZeroSampleRate_thenNotTraced() {
+        assertThat(traceDuring(new RequestTraceFilter(true, 0), new MockHttpServletRequest()), nullValue());
+    }
+
+    @SneakyThrows
+    private String traceDuring(RequestTraceFilter filter, MockHttpServletRequest request) {
+        AtomicReference<String> trace = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> trace.set(MDC.get(RequestTraceFilter.MDC_KEY)));
+        return trace.get();
+    }
+}
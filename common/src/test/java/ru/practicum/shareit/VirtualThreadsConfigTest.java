@@ -0,0 +1,35 @@
+package ru.practicum.shareit;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class VirtualThreadsConfigTest {
+    private final boolean supported = Runtime.version().feature() >= 21;
+
+    @Test
+    void newVirtualThreadExecutor_whenJava21_thenPresent() {
+        assertThat(VirtualThreadsConfig.newVirtualThreadExecutor().isPresent(), equalTo(supported));
+    }
+
+    @Test
+    void customizer_whenVirtualThreadsSupported_thenExecutorReplaced() {
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        new VirtualThreadsConfig().virtualThreadsProtocolHandlerCustomizer().customize(protocolHandler);
+
+        if (supported) {
+            verify(protocolHandler).setExecutor(any(Executor.class));
+        } else {
+            verify(protocolHandler, never()).setExecutor(any(Executor.class));
+        }
+    }
+}
@@ -19,6 +19,10 @@ import ru.practicum.shareit.booking.dto.BookingState;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -29,52 +33,78 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
-        log.info("Creating booking {}, userId={}", requestDto, userId);
+    public CompletableFuture<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                              @RequestBody @Valid BookItemRequestDto requestDto) {
+        log.info("Creating booking of itemId={}, userId={}", requestDto.getItemId(), userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @PathVariable Long bookingId,
-                                                @RequestParam(name = "approved") Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> updateBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                   @PathVariable Long bookingId,
+                                                                   @RequestParam(name = "approved") Boolean approved) {
         log.info("Updating bookingId={}, userId={}, approved={}", bookingId, userId, approved);
         return bookingClient.updateBooking(userId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam(name = "state", defaultValue = "all")
-                                              String stateParam,
-                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-                                              Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10")
-                                              Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                 @RequestParam(name = "state", defaultValue = "all")
+                                                                 String stateParam,
+                                                                 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                                 Integer from,
+                                                                 @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                                 Integer size,
+                                                                 @RequestParam(name = "cursor", required = false)
+                                                                 String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsForOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                      @RequestParam(name = "state", defaultValue = "all")
-                                                      String stateParam,
-                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-                                                      Integer from,
-                                                      @Positive @RequestParam(name = "size", defaultValue = "20")
-                                                      Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsForOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                         @RequestParam(name = "state", defaultValue = "all")
+                                                                         String stateParam,
+                                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                                         Integer from,
+                                                                         @Positive @RequestParam(name = "size", defaultValue = "20")
+                                                                         Integer size,
+                                                                         @RequestParam(name = "cursor", required = false)
+                                                                         String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookingsForOwner(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        return bookingClient.getBookingsForOwner(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/views")
+    public CompletableFuture<ResponseEntity<Object>> getBookingViews(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                     @RequestParam(name = "states", defaultValue = "all")
+                                                                     List<String> stateParams,
+                                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                                     Integer from,
+                                                                     @Positive @RequestParam(name = "size", defaultValue = "20")
+                                                                     Integer size) {
+        Set<BookingState> states = new LinkedHashSet<>();
+        for (String stateParam : stateParams) {
+            states.add(BookingState.from(stateParam)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam)));
+        }
+        if (states.isEmpty()) {
+            throw new IllegalArgumentException("No states requested");
+        }
+        log.info("Get booking views with states {}, userId={}, from={}, size={}", states, userId, from, size);
+        return bookingClient.getBookingViews(userId, states, from, size);
     }
 }
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.UriBuilderFactory;
+import ru.practicum.shareit.RequestTraceFilter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking transport on the JDK {@link HttpClient}: no thread is held while the server
+ * processes the request, the response completes the returned future on the client executor.
+ * Response bytes are passed through without JSON parsing. Connect failures and timeouts complete the future
+ * with {@link ServerUnavailableException}.
+ */
+public class AsyncHttpTransport implements ServerTransport {
+    private final HttpClient httpClient;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+
+    public AsyncHttpTransport(HttpClient httpClient, UriBuilderFactory uriBuilderFactory, ObjectMapper objectMapper,
+                              Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.uriBuilderFactory = uriBuilderFactory;
+        this.objectMapper = objectMapper;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        URI uri = parameters != null ? uriBuilderFactory.expand(path, parameters) : uriBuilderFactory.expand(path);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .method(method.name(), bodyPublisher(body));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        if (MDC.get(RequestTraceFilter.MDC_KEY) != null) {
+            request.header(RequestTraceFilter.HEADER, "true");
+        }
+        CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        result.completeExceptionally(ServerUnavailableException.of(e));
+                    } else {
+                        result.complete(prepareGatewayResponse(response));
+                    }
+                });
+        return result;
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body can't be serialized", e);
+        }
+    }
+
+    private ResponseEntity<Object> prepareGatewayResponse(HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        return GatewayResponses.of(response.statusCode(), headers, response.body());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Answers GET requests from {@link GatewayResponseCache} when {@code cachedPrefix} is set, keyed by path,
+ * query parameters and X-Sharer-User-Id, and clears {@code invalidatedPrefixes} after any other request.
+ */
+class CachingServerTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final GatewayResponseCache cache;
+    @Nullable
+    private final String cachedPrefix;
+    private final List<String> invalidatedPrefixes;
+
+    CachingServerTransport(ServerTransport delegate, GatewayResponseCache cache, @Nullable String cachedPrefix,
+                           List<String> invalidatedPrefixes) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.cachedPrefix = cachedPrefix;
+        this.invalidatedPrefixes = invalidatedPrefixes;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, userId, parameters, body)
+                    .whenComplete((response, e) -> invalidatedPrefixes.forEach(cache::invalidate));
+        }
+        if (cachedPrefix == null) {
+            return delegate.exchange(method, path, userId, parameters, body);
+        }
+        String key = userId + " " + path + " " + (parameters != null ? new TreeMap<>(parameters) : "");
+        ResponseEntity<Object> cached = cache.get(cachedPrefix, key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long version = cache.version(cachedPrefix);
+        return delegate.exchange(method, path, userId, parameters, body)
+                .thenApply(response -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        cache.put(cachedPrefix, key, version, response);
+                    }
+                    return response;
+                });
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Successful GET responses of the server grouped by API prefix. A mutating request through the gateway
+ * clears the prefixes it may affect; each clear bumps the prefix version, so a response fetched
+ * before the clear is not stored after it.
+ * <p>
+ * Hits and misses are reported as {@code gateway.response.cache.requests} with {@code prefix} and
+ * {@code result} tags.
+ */
+@Component
+public class GatewayResponseCache {
+    private final ShareItServerClientProperties.Cache properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    public GatewayResponseCache(ShareItServerClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getCache();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    ResponseEntity<Object> get(String prefix, String key) {
+        Region region = region(prefix);
+        Entry entry = region.entries.get(key);
+        if (entry == null || entry.expiration - System.nanoTime() < 0) {
+            if (entry != null) {
+                region.entries.remove(key, entry);
+            }
+            region.misses.increment();
+            return null;
+        }
+        region.hits.increment();
+        return entry.response;
+    }
+
+    long version(String prefix) {
+        return region(prefix).version.get();
+    }
+
+    void put(String prefix, String key, long version, ResponseEntity<Object> response) {
+        Region region = region(prefix);
+        if (region.entries.size() >= properties.getMaxSize()) {
+            region.entries.clear();
+        }
+        region.entries.put(key, new Entry(response, System.nanoTime() + properties.getTtl().toNanos()));
+        if (region.version.get() != version) {
+            region.entries.remove(key);
+        }
+    }
+
+    void invalidate(String prefix) {
+        Region region = region(prefix);
+        region.version.incrementAndGet();
+        region.entries.clear();
+    }
+
+    private Region region(String prefix) {
+        return regions.computeIfAbsent(prefix, key -> new Region(key, meterRegistry));
+    }
+
+    private static class Region {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+        private final Counter hits;
+        private final Counter misses;
+
+        Region(String prefix, MeterRegistry meterRegistry) {
+            hits = meterRegistry.counter("gateway.response.cache.requests", "prefix", prefix, "result", "hit");
+            misses = meterRegistry.counter("gateway.response.cache.requests", "prefix", prefix, "result", "miss");
+            meterRegistry.gaugeMapSize("gateway.response.cache.size", Tags.of("prefix", prefix), entries);
+        }
+    }
+
+    private static class Entry {
+        private final ResponseEntity<Object> response;
+        private final long expiration;
+
+        Entry(ResponseEntity<Object> response, long expiration) {
+            this.response = response;
+            this.expiration = expiration;
+        }
+    }
+}
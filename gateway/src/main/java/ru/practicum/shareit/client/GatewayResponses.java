@@ -0,0 +1,37 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+/**
+ * Builds the gateway response from the raw server response: status, end-to-end headers and body bytes
+ * are passed through as is, the body is never parsed.
+ */
+final class GatewayResponses {
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            "keep-alive");
+
+    private GatewayResponses() {
+    }
+
+    static ResponseEntity<Object> of(int status, @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    responseBuilder.header(name, values.toArray(new String[0]));
+                }
+            });
+        }
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
+        }
+        return responseBuilder.body(body);
+    }
+}
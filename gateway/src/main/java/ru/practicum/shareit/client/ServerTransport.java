@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Forwards a gateway request to shareit-server and returns the response to hand back to the caller.
+ */
+public interface ServerTransport {
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                       String path,
+                                                       @Nullable Long userId,
+                                                       @Nullable Map<String, Object> parameters,
+                                                       @Nullable Object body);
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the transport of each {@link BaseClient} according to {@code shareit-server.client.engine}.
+ */
+@Component
+public class ServerTransportFactory {
+    private final String serverUrl;
+    private final ShareItServerClientProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ObjectProvider<ClientHttpRequestFactory> requestFactory;
+    private final ObjectProvider<HttpClient> asyncHttpClient;
+    private final ObjectMapper objectMapper;
+    private final GatewayResponseCache responseCache;
+
+    public ServerTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                  ShareItServerClientProperties properties,
+                                  RestTemplateBuilder restTemplateBuilder,
+                                  ObjectProvider<ClientHttpRequestFactory> requestFactory,
+                                  ObjectProvider<HttpClient> asyncHttpClient,
+                                  ObjectMapper objectMapper,
+                                  GatewayResponseCache responseCache) {
+        this.serverUrl = serverUrl;
+        this.properties = properties;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.requestFactory = requestFactory;
+        this.asyncHttpClient = asyncHttpClient;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Transport whose GET responses are not cached; its other requests clear the cached responses
+     * of {@code invalidatedPrefixes}.
+     */
+    public ServerTransport create(String apiPrefix, String... invalidatedPrefixes) {
+        return withCache(createTransport(apiPrefix), null, List.of(invalidatedPrefixes));
+    }
+
+    /**
+     * Transport whose GET responses are cached when {@code shareit-server.client.cache.enabled} is set;
+     * its other requests clear the cached responses of {@code apiPrefix} and {@code invalidatedPrefixes}.
+     */
+    public ServerTransport createCached(String apiPrefix, String... invalidatedPrefixes) {
+        List<String> prefixes = new ArrayList<>(List.of(invalidatedPrefixes));
+        prefixes.add(apiPrefix);
+        return withCache(createTransport(apiPrefix), apiPrefix, prefixes);
+    }
+
+    private ServerTransport withCache(ServerTransport transport, @Nullable String cachedPrefix,
+                                      List<String> invalidatedPrefixes) {
+        if (!responseCache.isEnabled()) {
+            return transport;
+        }
+        return new CachingServerTransport(transport, responseCache, cachedPrefix, invalidatedPrefixes);
+    }
+
+    private ServerTransport createTransport(String apiPrefix) {
+        DefaultUriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory(serverUrl + apiPrefix);
+        if (properties.getEngine() == ShareItServerClientProperties.Engine.ASYNC) {
+            return new AsyncHttpTransport(asyncHttpClient.getObject(), uriBuilderFactory, objectMapper,
+                    properties.getReadTimeout());
+        }
+        ClientHttpRequestFactory factory = requestFactory.getObject();
+        return new RestTemplateTransport(restTemplateBuilder
+                .uriTemplateHandler(uriBuilderFactory)
+                .requestFactory(() -> factory)
+                .build());
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * shareit-server could not be reached or did not answer in time; answered with 502 or 504 respectively.
+ */
+public class ServerUnavailableException extends RuntimeException {
+    private final HttpStatus status;
+
+    public ServerUnavailableException(HttpStatus status, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    static ServerUnavailableException of(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof HttpTimeoutException || t instanceof SocketTimeoutException) {
+                return new ServerUnavailableException(HttpStatus.GATEWAY_TIMEOUT,
+                        "ShareIt server did not respond in time", cause);
+            }
+        }
+        return new ServerUnavailableException(HttpStatus.BAD_GATEWAY, "ShareIt server is unavailable", cause);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.client")
+public class ShareItServerClientProperties {
+    /**
+     * Forwarding engine: BLOCKING holds a servlet thread per request on a pooled Apache HttpClient,
+     * ASYNC releases it and waits for the server on the JDK HttpClient.
+     */
+    private Engine engine = Engine.BLOCKING;
+
+    /**
+     * Threads of the JDK HttpClient used by the ASYNC engine, ignored when virtual threads are enabled.
+     */
+    private int asyncThreads = 4;
+
+    /**
+     * Maximum number of pooled connections to the server.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Maximum number of pooled connections per route; all clients share the single server route.
+     */
+    private int maxConnectionsPerRoute = 200;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long a request waits for a free pooled connection.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Keep-alive used when the server response does not specify one.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Idle connections are closed by a background reaper after this time.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * Pooled connections idle for longer than this are checked before being reused.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    private final Cache cache = new Cache();
+
+    public enum Engine {
+        BLOCKING,
+        ASYNC
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /**
+         * Keep successful GET responses of clients created by {@link ServerTransportFactory#createCached}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Responses kept per API prefix; the prefix is cleared when the limit is reached.
+         */
+        private int maxSize = 10000;
+
+        /**
+         * Bounds staleness for changes the gateway doesn't see: time-dependent fields such as
+         * last and next bookings, other gateway instances.
+         */
+        private Duration ttl = Duration.ofSeconds(5);
+    }
+}
@@ -2,12 +2,15 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.client.ServerUnavailableException;
 
 import javax.validation.ValidationException;
+import java.util.concurrent.CompletionException;
 
 @RestControllerAdvice
 @Slf4j
@@ -21,6 +24,25 @@ public class ErrorHandler {
         return new ValidationErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ValidationErrorResponse> serverUnavailableHandle(final ServerUnavailableException e) {
+        log.warn("{}: {}", e.getMessage(), e.getCause() != null ? e.getCause().toString() : "");
+        return ResponseEntity.status(e.getStatus()).body(new ValidationErrorResponse(e.getMessage()));
+    }
+
+    /**
+     * Failures of chained client futures arrive wrapped; they are answered as their cause.
+     */
+    @ExceptionHandler
+    public ResponseEntity<ValidationErrorResponse> completionHandle(final CompletionException e) {
+        if (e.getCause() instanceof ServerUnavailableException) {
+            return serverUnavailableHandle((ServerUnavailableException) e.getCause());
+        }
+        log.error("Bad request : {}", e.getMessage(), e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ValidationErrorResponse("An unexpected error has occurred."));
+    }
+
     @ExceptionHandler()
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ValidationErrorResponse handle(final Throwable e) {
@@ -1,45 +1,39 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.createCached(API_PREFIX, "/requests"));
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(long userId, ItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, Long id, ItemRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(long userId, Long id, ItemRequestDto requestDto) {
         return patch("/" + id, userId, requestDto);
     }
 
-    public ResponseEntity<Object> getItem(long userId, Long id) {
+    public CompletableFuture<ResponseEntity<Object>> getItem(long userId, Long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> getItems(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getItems(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -47,7 +41,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemsByQuery(long userId, String query, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByQuery(long userId, String query, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", query,
                 "from", from,
@@ -56,7 +50,25 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(long userId, Long itemId, CommentRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> checkAvailability(long userId, Long itemId, LocalDateTime start,
+                                                    LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "start", start,
+                "end", end
+        );
+        return get("/" + itemId + "/availability?start={start}&end={end}", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> findNextAvailability(long userId, Long itemId, LocalDateTime start,
+                                                       LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "start", start,
+                "end", end
+        );
+        return get("/" + itemId + "/availability/next?start={start}&end={end}", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> createComment(long userId, Long itemId, CommentRequestDto requestDto) {
         return post("/" + itemId + "/comment", userId, requestDto);
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -19,7 +20,9 @@ import ru.practicum.shareit.item.dto.ItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -31,56 +34,82 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @RequestBody @Valid ItemRequestDto requestDto) {
-        log.info("Creating item {}, userId={}", requestDto, userId);
+    public CompletableFuture<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @RequestBody @Valid ItemRequestDto requestDto) {
+        log.info("Creating item, userId={}", userId);
         return itemClient.createItem(userId, requestDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long id,
-                                             @RequestBody ItemRequestDto requestDto) {
-        log.info("Updating itemId={}, userId={}, newItem={}", id, userId, requestDto);
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @PathVariable Long id,
+                                                                @RequestBody ItemRequestDto requestDto) {
+        log.info("Updating itemId={}, userId={}", id, userId);
         return itemClient.updateItem(userId, id, requestDto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                          @PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                             @PathVariable Long id) {
         log.info("Get itemId={}, userId={}", id, userId);
         return itemClient.getItem(userId, id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItems(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-                                           Integer from,
-                                           @Positive @RequestParam(name = "size", defaultValue = "20")
-                                           Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                              Integer from,
+                                                              @Positive @RequestParam(name = "size", defaultValue = "20")
+                                                              Integer size) {
         log.info("Get items by userId={}, from={}, size={}", userId, from, size);
         return itemClient.getItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemsByQuery(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(name = "text") String query,
-                                                  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-                                                  Integer from,
-                                                  @Positive @RequestParam(name = "size", defaultValue = "20")
-                                                  Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByQuery(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                     @RequestParam(name = "text") String query,
+                                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                                     Integer from,
+                                                                     @Positive @RequestParam(name = "size", defaultValue = "20")
+                                                                     Integer size) {
         log.info("Get items by query={}, userId={}, from={}, size={}", query, userId, from, size);
         if (query.isBlank()) {
-            return ResponseEntity.ok().body(Collections.emptyList());
+            return CompletableFuture.completedFuture(ResponseEntity.ok().body(Collections.emptyList()));
         }
         return itemClient.getItemsByQuery(userId, query, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public CompletableFuture<ResponseEntity<Object>> checkAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                       @PathVariable Long itemId,
+                                                                       @RequestParam(name = "start")
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                       LocalDateTime start,
+                                                                       @RequestParam(name = "end")
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                       LocalDateTime end) {
+        log.info("Check availability of itemId={} from {} to {}, userId={}", itemId, start, end, userId);
+        return itemClient.checkAvailability(userId, itemId, start, end);
+    }
+
+    @GetMapping("/{itemId}/availability/next")
+    public CompletableFuture<ResponseEntity<Object>> findNextAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                          @PathVariable Long itemId,
+                                                                          @RequestParam(name = "start")
+                                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                          LocalDateTime start,
+                                                                          @RequestParam(name = "end")
+                                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                          LocalDateTime end) {
+        log.info("Find next availability of itemId={} from {} to {}, userId={}", itemId, start, end, userId);
+        return itemClient.findNextAvailability(userId, itemId, start, end);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @PathVariable Long itemId,
-                                                @RequestBody @Valid CommentRequestDto requestDto) {
-        log.info("Creating comment {} to itemId={}, userId={}", requestDto, itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                   @PathVariable Long itemId,
+                                                                   @RequestBody @Valid CommentRequestDto requestDto) {
+        log.info("Creating comment to itemId={}, userId={}", itemId, userId);
         return itemClient.createComment(userId, itemId, requestDto);
     }
 }
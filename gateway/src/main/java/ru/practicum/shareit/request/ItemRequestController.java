@@ -17,6 +17,7 @@ import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/requests")
@@ -27,31 +28,33 @@ public class ItemRequestController {
     private final ItemRequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @RequestBody @Valid ItemRequestRequestDto requestDto) {
-        log.info("Creating request {}, userId={}", requestDto, userId);
+    public CompletableFuture<ResponseEntity<Object>> createRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                   @RequestBody @Valid ItemRequestRequestDto requestDto) {
+        log.info("Creating request, userId={}", userId);
         return requestClient.createItemRequest(userId, requestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Get requests, userId={}", userId);
         return requestClient.getRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-                                                 Integer from,
-                                                 @Positive @RequestParam(name = "size", defaultValue = "20")
-                                                 Integer size) {
-        log.info("Get all requests, userId={}, from={}, size={}", userId, from, size);
-        return requestClient.getAllRequests(userId, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                                    Integer from,
+                                                                    @Positive @RequestParam(name = "size", defaultValue = "20")
+                                                                    Integer size,
+                                                                    @RequestParam(name = "cursor", required = false)
+                                                                    String cursor) {
+        log.info("Get all requests, userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+        return requestClient.getAllRequests(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @PathVariable Long requestId) {
         log.info("Get requestId={}, userId={}", requestId, userId);
         return requestClient.getRequest(userId, requestId);
     }
@@ -1,46 +1,40 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.createCached(API_PREFIX, "/items", "/requests"));
     }
 
-    public ResponseEntity<Object> createUser(UserRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(UserRequestDto requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> updateUser(Long id, UserRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(Long id, UserRequestDto requestDto) {
         return patch("/" + id, requestDto);
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUser(Long id) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(Long id) {
         return get("/" + id);
     }
 
-    public ResponseEntity<Object> deleteUser(Long id) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(Long id) {
         return delete("/" + id);
     }
 }
@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import ru.practicum.shareit.Marker;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -23,32 +25,32 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Validated(Marker.OnCreate.class) UserRequestDto requestDto) {
-        log.info("Creating user {}", requestDto);
+    public CompletableFuture<ResponseEntity<Object>> createUser(@RequestBody @Validated(Marker.OnCreate.class) UserRequestDto requestDto) {
+        log.info("Creating user");
         return userClient.createUser(requestDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@PathVariable Long id,
-                                             @RequestBody @Validated(Marker.OnUpdate.class) UserRequestDto requestDto) {
-        log.info("Updating user with id={}, new User={}", id, requestDto);
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable Long id,
+                                                                @RequestBody @Validated(Marker.OnUpdate.class) UserRequestDto requestDto) {
+        log.info("Updating user with id={}", id);
         return userClient.updateUser(id, requestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getUsers() {
         log.info("Getting users...");
         return userClient.getUsers();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUser(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@PathVariable Long id) {
         log.info("Getting user with id={}...", id);
         return userClient.getUser(id);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@PathVariable Long id) {
         log.info("Deleting user with id={}", id);
         return userClient.deleteUser(id);
     }
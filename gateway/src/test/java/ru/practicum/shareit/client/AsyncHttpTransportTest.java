@@ -0,0 +1,122 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncHttpTransportTest {
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(500);
+    private static final byte[] ERROR_BODY = "{\"error\":\"Item with id 7 not found\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(500))
+            .build();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private volatile String sharerUserId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items/7", exchange -> {
+            sharerUserId = exchange.getRequestHeaders().getFirst("X-Sharer-User-Id");
+            exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(404, ERROR_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(ERROR_BODY);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void exchange_whenServerAnswersWithError_thenStatusAndBodyPassedThrough() {
+        ResponseEntity<Object> response = transport(server.getAddress().getPort())
+                .exchange(HttpMethod.GET, "/items/{id}", 3L, Map.of("id", 7), null).join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getBody(), equalTo(ERROR_BODY));
+    }
+
+    @Test
+    void exchange_whenUserIdGiven_thenSharerHeaderForwarded() {
+        transport(server.getAddress().getPort()).exchange(HttpMethod.GET, "/items/7", 3L, null, null).join();
+
+        assertThat(sharerUserId, equalTo("3"));
+    }
+
+    @Test
+    void exchange_whenServerNotListening_thenFailsWithBadGateway() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        ServerUnavailableException e = failure(transport(closedPort)
+                .exchange(HttpMethod.GET, "/items/7", 3L, null, null));
+
+        assertThat(e.getStatus(), equalTo(HttpStatus.BAD_GATEWAY));
+    }
+
+    @Test
+    void exchange_whenServerTooSlow_thenFailsWithGatewayTimeout() {
+        ServerUnavailableException e = failure(transport(server.getAddress().getPort())
+                .exchange(HttpMethod.GET, "/slow", 3L, null, null));
+
+        assertThat(e.getStatus(), equalTo(HttpStatus.GATEWAY_TIMEOUT));
+    }
+
+    private AsyncHttpTransport transport(int port) {
+        return new AsyncHttpTransport(httpClient, new DefaultUriBuilderFactory("http://localhost:" + port),
+                objectMapper, READ_TIMEOUT);
+    }
+
+    private static ServerUnavailableException failure(CompletableFuture<ResponseEntity<Object>> future) {
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> future.orTimeout(5, TimeUnit.SECONDS).join());
+        assertThat(e.getCause(), instanceOf(ServerUnavailableException.class));
+        return (ServerUnavailableException) e.getCause();
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+class CachingServerTransportTest {
+    private static final Duration TTL = Duration.ofMillis(200);
+
+    private FakeServerTransport server;
+    private GatewayResponseCache cache;
+    private CachingServerTransport itemTransport;
+    private CachingServerTransport bookingTransport;
+
+    @BeforeEach
+    void setUp() {
+        ShareItServerClientProperties properties = new ShareItServerClientProperties();
+        properties.getCache().setEnabled(true);
+        properties.getCache().setTtl(TTL);
+        server = new FakeServerTransport();
+        cache = new GatewayResponseCache(properties, new SimpleMeterRegistry());
+        itemTransport = new CachingServerTransport(server, cache, "/items", List.of("/items"));
+        bookingTransport = new CachingServerTransport(server, cache, null, List.of("/items", "/bookings"));
+    }
+
+    @Test
+    void exchange_whenRepeatedSuccessfulGet_thenAnsweredFromCache() {
+        ResponseEntity<Object> first = get(itemTransport, "/1", 1L);
+        ResponseEntity<Object> second = get(itemTransport, "/1", 1L);
+
+        assertThat(server.calls, equalTo(1));
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test
+    void exchange_whenOtherUserOrParameters_thenNotAnsweredFromCache() {
+        get(itemTransport, "/1", 1L);
+        get(itemTransport, "/1", 2L);
+        itemTransport.exchange(HttpMethod.GET, "/1", 1L, Map.of("from", 10), null).join();
+
+        assertThat(server.calls, equalTo(3));
+    }
+
+    @Test
+    void exchange_whenGetAnsweredWithError_thenNotStored() {
+        server.status = HttpStatus.NOT_FOUND;
+        get(itemTransport, "/1", 1L);
+        get(itemTransport, "/1", 1L);
+
+        assertThat(server.calls, equalTo(2));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = HttpMethod.class, names = {"POST", "PATCH", "DELETE"})
+    void exchange_whenMutatingRequest_thenAffectedPrefixesInvalidated(HttpMethod method) {
+        get(itemTransport, "/1", 1L);
+        bookingTransport.exchange(method, "/1", 1L, null, null).join();
+        get(itemTransport, "/1", 1L);
+
+        assertThat(server.calls, equalTo(3));
+    }
+
+    @Test
+    void exchange_whenMutatingRequestFails_thenAffectedPrefixesInvalidated() {
+        get(itemTransport, "/1", 1L);
+        server.status = HttpStatus.CONFLICT;
+        bookingTransport.exchange(HttpMethod.PATCH, "/1", 1L, null, null).join();
+        server.status = HttpStatus.OK;
+        get(itemTransport, "/1", 1L);
+
+        assertThat(server.calls, equalTo(3));
+    }
+
+    @Test
+    void exchange_whenVersionMovedDuringGet_thenResponseNotStored() {
+        CompletableFuture<ResponseEntity<Object>> pending = new CompletableFuture<>();
+        server.pending.add(pending);
+        CompletableFuture<ResponseEntity<Object>> stale = itemTransport.exchange(HttpMethod.GET, "/1", 1L, null, null);
+
+        cache.invalidate("/items");
+        pending.complete(ResponseEntity.ok("stale"));
+        stale.join();
+        ResponseEntity<Object> fresh = get(itemTransport, "/1", 1L);
+
+        assertThat(server.calls, equalTo(2));
+        assertThat(fresh.getBody(), equalTo("response 2"));
+    }
+
+    @Test
+    void exchange_whenTtlElapsed_thenEntryExpired() throws InterruptedException {
+        get(itemTransport, "/1", 1L);
+        Thread.sleep(TTL.toMillis() * 2);
+        get(itemTransport, "/1", 1L);
+
+        assertThat(server.calls, equalTo(2));
+    }
+
+    private static ResponseEntity<Object> get(ServerTransport transport, String path, long userId) {
+        return transport.exchange(HttpMethod.GET, path, userId, null, null).join();
+    }
+
+    private static class FakeServerTransport implements ServerTransport {
+        private final Deque<CompletableFuture<ResponseEntity<Object>>> pending = new ArrayDeque<>();
+        private HttpStatus status = HttpStatus.OK;
+        private int calls;
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                                  @Nullable Long userId,
+                                                                  @Nullable Map<String, Object> parameters,
+                                                                  @Nullable Object body) {
+            calls++;
+            if (!pending.isEmpty()) {
+                return pending.poll();
+            }
+            return CompletableFuture.completedFuture(ResponseEntity.status(status).body("response " + calls));
+        }
+    }
+}
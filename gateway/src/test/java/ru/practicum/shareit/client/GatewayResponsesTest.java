@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GatewayResponsesTest {
+
+    @Test
+    void of_whenHopByHopHeaders_thenDroppedAndEndToEndHeadersKept() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add("X-Next-Cursor", "abc");
+        headers.add(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.add(HttpHeaders.CONNECTION, "keep-alive");
+        headers.add("Keep-Alive", "timeout=60");
+        headers.setContentLength(2);
+
+        ResponseEntity<Object> response = GatewayResponses.of(200, headers, "[]".getBytes(StandardCharsets.UTF_8));
+
+        HttpHeaders passed = response.getHeaders();
+        assertThat(passed.getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(passed.getFirst("X-Next-Cursor"), equalTo("abc"));
+        assertThat(passed.getFirst(HttpHeaders.TRANSFER_ENCODING), nullValue());
+        assertThat(passed.getFirst(HttpHeaders.CONNECTION), nullValue());
+        assertThat(passed.getFirst("Keep-Alive"), nullValue());
+        assertThat(passed.getFirst(HttpHeaders.CONTENT_LENGTH), nullValue());
+    }
+
+    @Test
+    void of_whenErrorResponse_thenStatusAndBodyBytesPassedThrough() {
+        byte[] body = "{\"error\":\"Unknown state: ÜNKNOWN\"}".getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<Object> response = GatewayResponses.of(400, null, body);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(response.getBody(), equalTo(body));
+    }
+
+    @Test
+    void of_whenReturnedFromController_thenClientGetsSameBytesAndHeaders() throws Exception {
+        byte[] body = "{\"error\":\"Unknown state: ÜNKNOWN\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new PassThroughController(GatewayResponses.of(400, headers, body)))
+                .build();
+
+        MvcResult result = mvc.perform(get("/pass-through"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().doesNotExist(HttpHeaders.TRANSFER_ENCODING))
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsByteArray(), equalTo(body));
+    }
+
+    @Test
+    void of_whenEmptyBody_thenNoBody() {
+        ResponseEntity<Object> response = GatewayResponses.of(204, null, new byte[0]);
+
+        assertThat(response.getStatusCodeValue(), equalTo(204));
+        assertThat(response.getBody(), nullValue());
+    }
+
+    @RestController
+    private static class PassThroughController {
+        private final ResponseEntity<Object> response;
+
+        PassThroughController(ResponseEntity<Object> response) {
+            this.response = response;
+        }
+
+        @GetMapping("/pass-through")
+        ResponseEntity<Object> get() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.client.ServerUnavailableException;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.request.ItemRequestController;
+
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemRequestController.class)
+class ErrorHandlerTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ItemRequestClient requestClient;
+
+    @Test
+    void getRequests_whenServerUnreachable_thenBadGateway() throws Exception {
+        ServerUnavailableException e = new ServerUnavailableException(HttpStatus.BAD_GATEWAY,
+                "ShareIt server is unavailable", new ConnectException());
+        when(requestClient.getRequests(1L)).thenReturn(CompletableFuture.failedFuture(e));
+
+        mvc.perform(asyncDispatch(startRequest()))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.error", equalTo("ShareIt server is unavailable")));
+    }
+
+    @Test
+    void getRequests_whenChainedFutureTimedOut_thenGatewayTimeout() throws Exception {
+        ServerUnavailableException e = new ServerUnavailableException(HttpStatus.GATEWAY_TIMEOUT,
+                "ShareIt server did not respond in time", new HttpTimeoutException("request timed out"));
+        when(requestClient.getRequests(1L)).thenReturn(CompletableFuture.<Object>failedFuture(e)
+                .thenApply(response -> null));
+
+        mvc.perform(asyncDispatch(startRequest()))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error", equalTo("ShareIt server did not respond in time")));
+    }
+
+    private MvcResult startRequest() throws Exception {
+        return mvc.perform(get("/requests").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
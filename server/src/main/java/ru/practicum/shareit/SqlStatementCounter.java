@@ -0,0 +1,56 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ * Statements outside of a counted section, e.g. at startup, are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<AtomicInteger> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger current = count.get();
+        if (current != null) {
+            current.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public void start() {
+        count.set(new AtomicInteger());
+    }
+
+    public int stop() {
+        AtomicInteger current = count.get();
+        count.remove();
+        return current != null ? current.get() : 0;
+    }
+
+    /**
+     * Wraps a task handed off to another thread, so that its statements add to the section of the current thread.
+     * The section of the thread running the task, if any, is restored afterwards.
+     */
+    public Runnable propagate(Runnable task) {
+        AtomicInteger current = count.get();
+        if (current == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = count.get();
+            count.set(current);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    count.set(previous);
+                } else {
+                    count.remove();
+                }
+            }
+        };
+    }
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +15,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewsDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
 
@@ -21,48 +25,90 @@ import java.util.List;
 @AllArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final BookingMapper bookingMapper;
 
     @PostMapping
-    public Booking createBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                 @RequestBody BookingDto bookingDto) {
-        return bookingService.createBooking(userId, bookingDto);
+    public BookingResponseDto createBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestBody BookingDto bookingDto) {
+        return bookingMapper.toBookingResponseDto(bookingService.createBooking(userId, bookingDto));
     }
 
     @PatchMapping("/{bookingId}")
-    public Booking updateBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                 @PathVariable Long bookingId,
-                                 @RequestParam(value = "approved") Boolean approved) {
-        return bookingService.approveBooking(userId, bookingId, approved);
+    public BookingResponseDto updateBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @PathVariable Long bookingId,
+                                            @RequestParam(value = "approved") Boolean approved) {
+        return bookingMapper.toBookingResponseDto(bookingService.approveBooking(userId, bookingId, approved));
     }
 
     @GetMapping("/{bookingId}")
-    public Booking findBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                   @PathVariable Long bookingId) {
-        return bookingService.findBookingById(userId, bookingId);
+    public BookingResponseDto findBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable Long bookingId) {
+        return bookingMapper.toBookingResponseDto(bookingService.findBookingById(userId, bookingId));
     }
 
     @GetMapping
-    public List<Booking> findBookingsByState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(value = "state", defaultValue = "ALL", required = false)
-                                             String state,
-                                             @RequestParam(value = "from", defaultValue = "0", required = false)
-                                             Integer from,
-                                             @RequestParam(value = "size", defaultValue = "20", required = false)
-                                             Integer size) {
-        Pageable pageRequest = PageRequest.of(from / size, size, Sort.by("start").descending());
-        return bookingService.findBookingsByState(userId, state, pageRequest);
+    public ResponseEntity<List<BookingResponseDto>> findBookingsByState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                        @RequestParam(value = "state", defaultValue = "ALL", required = false)
+                                                                        String state,
+                                                                        @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                                        Integer from,
+                                                                        @RequestParam(value = "size", defaultValue = "20", required = false)
+                                                                        Integer size,
+                                                                        @RequestParam(value = "cursor", required = false)
+                                                                        String cursor) {
+        List<BookingResponseDto> bookings;
+        if (cursor == null || cursor.isEmpty()) {
+            int page = cursor == null ? from / size : 0;
+            Pageable pageRequest = PageRequest.of(page, size, Sort.by("start").descending()
+                    .and(Sort.by("id").descending()));
+            bookings = bookingService.findBookingsByState(userId, state, pageRequest);
+        } else {
+            bookings = bookingService.findBookingsByState(userId, state, KeysetCursor.decode(cursor), size);
+        }
+        return withNextCursor(bookings, size, cursor != null);
     }
 
     @GetMapping("/owner")
-    public List<Booking> findBookingsByStateForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @RequestParam(value = "state", defaultValue = "ALL", required = false)
-                                                     String state,
-                                                     @RequestParam(value = "from", defaultValue = "0", required = false)
-                                                     Integer from,
-                                                     @RequestParam(value = "size", defaultValue = "20", required = false)
-                                                     Integer size) {
-        Pageable pageRequest = PageRequest.of(from / size, size);
-        return bookingService.findBookingByStateForOwner(userId, state, pageRequest);
+    public ResponseEntity<List<BookingResponseDto>> findBookingsByStateForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                                @RequestParam(value = "state", defaultValue = "ALL", required = false)
+                                                                                String state,
+                                                                                @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                                                Integer from,
+                                                                                @RequestParam(value = "size", defaultValue = "20", required = false)
+                                                                                Integer size,
+                                                                                @RequestParam(value = "cursor", required = false)
+                                                                                String cursor) {
+        List<BookingResponseDto> bookings;
+        if (cursor == null || cursor.isEmpty()) {
+            int page = cursor == null ? from / size : 0;
+            bookings = bookingService.findBookingByStateForOwner(userId, state, PageRequest.of(page, size));
+        } else {
+            bookings = bookingService.findBookingByStateForOwner(userId, state, KeysetCursor.decode(cursor), size);
+        }
+        return withNextCursor(bookings, size, cursor != null);
+    }
+
+    @GetMapping("/views")
+    public BookingViewsDto findBookingViews(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestParam(value = "states", defaultValue = "ALL", required = false)
+                                            List<String> states,
+                                            @RequestParam(value = "from", defaultValue = "0", required = false)
+                                            Integer from,
+                                            @RequestParam(value = "size", defaultValue = "20", required = false)
+                                            Integer size) {
+        return bookingService.findBookingViews(userId, states, from, size);
+    }
+
+    private static ResponseEntity<List<BookingResponseDto>> withNextCursor(List<BookingResponseDto> bookings,
+                                                                           int size, boolean cursorMode) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (cursorMode && bookings.size() == size) {
+            BookingResponseDto last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(bookings);
     }
 }
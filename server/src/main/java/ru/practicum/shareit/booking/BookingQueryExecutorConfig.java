@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.SqlStatementCounter;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Threads running the listing queries of {@link BookingService#findBookingViews} side by side. Each query takes
+ * its own connection, so the pool size should stay well below {@code spring.datasource.hikari.maximum-pool-size}.
+ * The logging context and the SQL statement count of the calling request are carried over to the query threads.
+ */
+@Configuration
+public class BookingQueryExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor bookingQueryExecutor(@Value("${shareit.booking.views.parallelism:4}") int parallelism,
+                                                       SqlStatementCounter sqlStatementCounter) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("booking-query-");
+        executor.setTaskDecorator(task -> {
+            Runnable counted = sqlStatementCounter.propagate(task);
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                setContext(context);
+                try {
+                    counted.run();
+                } finally {
+                    setContext(previous);
+                }
+            };
+        });
+        return executor;
+    }
+
+    /**
+     * Short read-only transaction around each of those queries, so a connection is held only while it runs.
+     */
+    @Bean
+    public TransactionTemplate bookingQueryTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+
+    /**
+     * Tasks rejected by a busy pool run on the calling thread, whose context has to survive them.
+     */
+    private static void setContext(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+}
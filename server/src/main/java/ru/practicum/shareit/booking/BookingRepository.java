@@ -1,61 +1,191 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByBookerId(Long bookerId, Pageable pageable);
-
-    @Query("select b " +
+    /**
+     * Listing queries select only the columns of {@link BookingResponseDto}.
+     */
+    String RESPONSE_QUERY = "select new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, b.start, b.end, b.status, it.id, it.name, b.booker.id) " +
             "from Booking as b " +
-            "join b.booker as u " +
-            "where u.id  = ?1 " +
-            "and ?2 between b.start and b.end")
-    List<Booking> findByBookerIdAndCurrentState(Long bookerId, LocalDateTime now, Pageable pageable);
+            "join b.item as it ";
 
-    List<Booking> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime now, Pageable pageable);
+    String BOOKER_QUERY = RESPONSE_QUERY + "where b.booker.id = ?1";
 
-    List<Booking> findByBookerIdAndStartAfter(Long bookerId, LocalDateTime now, Pageable pageable);
+    @Query(BOOKER_QUERY)
+    List<BookingResponseDto> findByBookerId(Long bookerId, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStatusIs(Long bookerId, BookingStatus bookingStatus, Pageable pageable);
+    @Query(BOOKER_QUERY + " and ?2 between b.start and b.end")
+    List<BookingResponseDto> findByBookerIdAndCurrentState(Long bookerId, LocalDateTime now, Pageable pageable);
 
-    String QUERY = "select b " +
-            "from Booking as b " +
-            "join b.item as it " +
-            "where it.id in " +
-            "(select it.id from it " +
-            "where it.ownerId = ?1)";
+    @Query(BOOKER_QUERY + " and b.end < ?2")
+    List<BookingResponseDto> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime now, Pageable pageable);
+
+    @Query(BOOKER_QUERY + " and b.start > ?2")
+    List<BookingResponseDto> findByBookerIdAndStartAfter(Long bookerId, LocalDateTime now, Pageable pageable);
+
+    @Query(BOOKER_QUERY + " and b.status = ?2")
+    List<BookingResponseDto> findByBookerIdAndStatusIs(Long bookerId, BookingStatus bookingStatus,
+                                                       Pageable pageable);
+
+    String QUERY = RESPONSE_QUERY + "where it.ownerId = ?1";
 
-    @Query(QUERY + " order by b.start desc")
-    List<Booking> findByOwnerId(Long ownerId, Pageable pageable);
+    @Query(QUERY + " order by b.start desc, b.id desc")
+    List<BookingResponseDto> findByOwnerId(Long ownerId, Pageable pageable);
 
     @Query(QUERY +
             " and ?2 between b.start and b.end " +
-            "order by b.start desc")
-    List<Booking> findByOwnerIdCurrentState(Long ownerId, LocalDateTime now, Pageable pageable);
+            "order by b.start desc, b.id desc")
+    List<BookingResponseDto> findByOwnerIdCurrentState(Long ownerId, LocalDateTime now, Pageable pageable);
 
     @Query(QUERY +
             " and b.end < ?2 " +
-            "order by b.start desc")
-    List<Booking> findByOwnerIdPastState(Long ownerId, LocalDateTime now, Pageable pageable);
+            "order by b.start desc, b.id desc")
+    List<BookingResponseDto> findByOwnerIdPastState(Long ownerId, LocalDateTime now, Pageable pageable);
 
     @Query(QUERY +
             " and b.start > ?2 " +
-            "order by b.start desc")
-    List<Booking> findByOwnerIdFutureState(Long ownerId, LocalDateTime now, Pageable pageable);
+            "order by b.start desc, b.id desc")
+    List<BookingResponseDto> findByOwnerIdFutureState(Long ownerId, LocalDateTime now, Pageable pageable);
 
     @Query(QUERY +
             " and b.status = ?2 " +
-            "order by b.start desc")
-    List<Booking> findByOwnerIdAndStatus(Long ownerId, BookingStatus bookingStatus, Pageable pageable);
+            "order by b.start desc, b.id desc")
+    List<BookingResponseDto> findByOwnerIdAndStatus(Long ownerId, BookingStatus bookingStatus, Pageable pageable);
+
+    String BOOKER_CURSOR_QUERY = RESPONSE_QUERY +
+            "where b.booker.id = :userId " +
+            "and (b.start < :start or (b.start = :start and b.id < :id))";
+
+    String OWNER_CURSOR_QUERY = RESPONSE_QUERY +
+            "where it.ownerId = :userId " +
+            "and (b.start < :start or (b.start = :start and b.id < :id))";
+
+    String CURSOR_ORDER = " order by b.start desc, b.id desc";
+
+    @Query(BOOKER_CURSOR_QUERY + CURSOR_ORDER)
+    List<BookingResponseDto> findByBookerIdAfterCursor(@Param("userId") Long bookerId,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    @Query(BOOKER_CURSOR_QUERY + " and :now between b.start and b.end" + CURSOR_ORDER)
+    List<BookingResponseDto> findByBookerIdCurrentStateAfterCursor(@Param("userId") Long bookerId,
+                                                                   @Param("now") LocalDateTime now,
+                                                                   @Param("start") LocalDateTime start,
+                                                                   @Param("id") Long id,
+                                                                   Pageable pageable);
+
+    @Query(BOOKER_CURSOR_QUERY + " and b.end < :now" + CURSOR_ORDER)
+    List<BookingResponseDto> findByBookerIdPastStateAfterCursor(@Param("userId") Long bookerId,
+                                                                @Param("now") LocalDateTime now,
+                                                                @Param("start") LocalDateTime start,
+                                                                @Param("id") Long id,
+                                                                Pageable pageable);
+
+    @Query(BOOKER_CURSOR_QUERY + " and b.start > :now" + CURSOR_ORDER)
+    List<BookingResponseDto> findByBookerIdFutureStateAfterCursor(@Param("userId") Long bookerId,
+                                                                  @Param("now") LocalDateTime now,
+                                                                  @Param("start") LocalDateTime start,
+                                                                  @Param("id") Long id,
+                                                                  Pageable pageable);
+
+    @Query(BOOKER_CURSOR_QUERY + " and b.status = :status" + CURSOR_ORDER)
+    List<BookingResponseDto> findByBookerIdAndStatusAfterCursor(@Param("userId") Long bookerId,
+                                                                @Param("status") BookingStatus bookingStatus,
+                                                                @Param("start") LocalDateTime start,
+                                                                @Param("id") Long id,
+                                                                Pageable pageable);
+
+    @Query(OWNER_CURSOR_QUERY + CURSOR_ORDER)
+    List<BookingResponseDto> findByOwnerIdAfterCursor(@Param("userId") Long ownerId,
+                                                      @Param("start") LocalDateTime start,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+    @Query(OWNER_CURSOR_QUERY + " and :now between b.start and b.end" + CURSOR_ORDER)
+    List<BookingResponseDto> findByOwnerIdCurrentStateAfterCursor(@Param("userId") Long ownerId,
+                                                                  @Param("now") LocalDateTime now,
+                                                                  @Param("start") LocalDateTime start,
+                                                                  @Param("id") Long id,
+                                                                  Pageable pageable);
+
+    @Query(OWNER_CURSOR_QUERY + " and b.end < :now" + CURSOR_ORDER)
+    List<BookingResponseDto> findByOwnerIdPastStateAfterCursor(@Param("userId") Long ownerId,
+                                                               @Param("now") LocalDateTime now,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("id") Long id,
+                                                               Pageable pageable);
+
+    @Query(OWNER_CURSOR_QUERY + " and b.start > :now" + CURSOR_ORDER)
+    List<BookingResponseDto> findByOwnerIdFutureStateAfterCursor(@Param("userId") Long ownerId,
+                                                                 @Param("now") LocalDateTime now,
+                                                                 @Param("start") LocalDateTime start,
+                                                                 @Param("id") Long id,
+                                                                 Pageable pageable);
+
+    @Query(OWNER_CURSOR_QUERY + " and b.status = :status" + CURSOR_ORDER)
+    List<BookingResponseDto> findByOwnerIdAndStatusAfterCursor(@Param("userId") Long ownerId,
+                                                               @Param("status") BookingStatus bookingStatus,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("id") Long id,
+                                                               Pageable pageable);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId,
+                                                            BookingStatus status,
+                                                            LocalDateTime end,
+                                                            LocalDateTime start);
+
+    List<BookingWindow> findByItemIdAndStatusOrderByStart(Long itemId, BookingStatus status);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(Long itemId,
+                                                                              BookingStatus status,
+                                                                              LocalDateTime now);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Long itemId,
+                                                                            BookingStatus status,
+                                                                            LocalDateTime now);
 
-    List<Booking> findByItemIdOrderByStart(Long itemId);
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item " +
+            "join fetch b.booker " +
+            "where b.item.id in ?1 " +
+            "and b.status = ?2 " +
+            "and b.start < ?3 " +
+            "and b.start = (select max(lb.start) from Booking as lb " +
+            "where lb.item.id = b.item.id " +
+            "and lb.status = ?2 " +
+            "and lb.start < ?3)")
+    List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "join fetch b.item " +
+            "join fetch b.booker " +
+            "where b.item.id in ?1 " +
+            "and b.status = ?2 " +
+            "and b.start > ?3 " +
+            "and b.start = (select min(nb.start) from Booking as nb " +
+            "where nb.item.id = b.item.id " +
+            "and nb.status = ?2 " +
+            "and nb.start > ?3)")
+    List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 }
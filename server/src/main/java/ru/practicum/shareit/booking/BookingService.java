@@ -2,6 +2,9 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewsDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
 
@@ -13,7 +16,13 @@ public interface BookingService {
 
     Booking findBookingById(Long userId, Long bookingId);
 
-    List<Booking> findBookingsByState(Long userId, String state, Pageable pageable);
+    List<BookingResponseDto> findBookingsByState(Long userId, String state, Pageable pageable);
 
-    List<Booking> findBookingByStateForOwner(Long userId, String state, Pageable pageable);
+    List<BookingResponseDto> findBookingByStateForOwner(Long userId, String state, Pageable pageable);
+
+    List<BookingResponseDto> findBookingsByState(Long userId, String state, KeysetCursor cursor, Integer size);
+
+    List<BookingResponseDto> findBookingByStateForOwner(Long userId, String state, KeysetCursor cursor, Integer size);
+
+    BookingViewsDto findBookingViews(Long userId, List<String> states, Integer from, Integer size);
 }
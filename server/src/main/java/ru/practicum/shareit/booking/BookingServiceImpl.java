@@ -2,21 +2,38 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewsDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 @Transactional(readOnly = true)
 @Service
@@ -26,7 +43,10 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final ItemAvailabilityCache availabilityCache;
     private final UserMapper userMapper;
+    private final Executor bookingQueryExecutor;
+    private final TransactionTemplate bookingQueryTransaction;
 
     @Override
     @Transactional
@@ -43,6 +63,9 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwnerId().equals(userId)) {
             throw new NotFoundException("Attempt to book item by user who is its owner");
         }
+        if (!availabilityCache.isFree(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new ConflictException("Item is already booked for this time");
+        }
 
         Booking booking = Booking.builder()
                 .item(item)
@@ -53,7 +76,7 @@ public class BookingServiceImpl implements BookingService {
                 .build();
 
         booking = bookingRepository.save(booking);
-        log.info("Booking was added: {}", booking);
+        log.info("Booking {} of item {} was added", booking.getId(), booking.getItem().getId());
         return booking;
     }
 
@@ -69,12 +92,22 @@ public class BookingServiceImpl implements BookingService {
             if (booking.getStatus().equals(BookingStatus.APPROVED)) {
                 throw new BadRequestException("Booking status has already been approved");
             }
+            itemRepository.lockById(booking.getItem().getId());
+            if (overlapsApprovedBooking(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+                throw new ConflictException("Item is already booked for this time");
+            }
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
-        bookingRepository.save(booking);
-        log.info("Booking was updated in DB. New booking is: {}", booking);
+        try {
+            bookingRepository.save(booking);
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Item is already booked for this time");
+        }
+        availabilityCache.invalidate(booking.getItem().getId());
+        log.info("Booking {} was updated in DB, status is {}", booking.getId(), booking.getStatus());
         return booking;
     }
 
@@ -89,74 +122,208 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<Booking> findBookingsByState(Long userId, String state, Pageable pageRequest) {
-        BookingState bookingState;
-        userService.findUserById(userId);
-        try {
-            bookingState = BookingState.valueOf(state.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new BadRequestException("Unknown state: " + state);
-        }
+    public List<BookingResponseDto> findBookingsByState(Long userId, String state, Pageable pageRequest) {
+        userService.checkUserExists(userId);
+        BookingState bookingState = parseState(state);
+
+        List<BookingResponseDto> bookings = findBookerBookings(userId, bookingState, LocalDateTime.now(), pageRequest);
+        log.info("{} bookings were found for \"{}\" state", bookings.size(), bookingState);
+        return bookings;
+    }
+
+    @Override
+    public List<BookingResponseDto> findBookingByStateForOwner(Long userId, String state, Pageable pageRequest) {
+        userService.checkUserExists(userId);
+        BookingState bookingState = parseState(state);
+
+        List<BookingResponseDto> bookings = findOwnerBookings(userId, bookingState, LocalDateTime.now(), pageRequest);
+        log.info("{} bookings were found for \"{}\" state", bookings.size(), bookingState);
+        return bookings;
+    }
+
+    @Override
+    public List<BookingResponseDto> findBookingsByState(Long userId, String state, KeysetCursor cursor, Integer size) {
+        userService.checkUserExists(userId);
+        BookingState bookingState = parseState(state);
+        Pageable limit = PageRequest.of(0, size);
+        LocalDateTime start = cursor.getTimestamp();
+        Long id = cursor.getId();
 
-        Iterable<Booking> bookings = new ArrayList<>();
+        List<BookingResponseDto> bookings = new ArrayList<>();
         switch (bookingState) {
             case ALL:
-                bookings = bookingRepository.findByBookerId(userId, pageRequest);
+                bookings = bookingRepository.findByBookerIdAfterCursor(userId, start, id, limit);
                 break;
             case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndCurrentState(userId, LocalDateTime.now(), pageRequest);
+                bookings = bookingRepository
+                        .findByBookerIdCurrentStateAfterCursor(userId, LocalDateTime.now(), start, id, limit);
                 break;
             case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBefore(userId, LocalDateTime.now(), pageRequest);
+                bookings = bookingRepository
+                        .findByBookerIdPastStateAfterCursor(userId, LocalDateTime.now(), start, id, limit);
                 break;
             case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartAfter(userId, LocalDateTime.now(), pageRequest);
+                bookings = bookingRepository
+                        .findByBookerIdFutureStateAfterCursor(userId, LocalDateTime.now(), start, id, limit);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatusIs(userId, BookingStatus.WAITING, pageRequest);
+                bookings = bookingRepository
+                        .findByBookerIdAndStatusAfterCursor(userId, BookingStatus.WAITING, start, id, limit);
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatusIs(userId, BookingStatus.REJECTED, pageRequest);
+                bookings = bookingRepository
+                        .findByBookerIdAndStatusAfterCursor(userId, BookingStatus.REJECTED, start, id, limit);
         }
-        List<Booking> bookingList = new ArrayList<>();
-        bookings.forEach(bookingList::add);
-        log.info("{} bookings were found for \"{}\" state", bookingList.size(), bookingState);
-        return bookingList;
+        log.info("{} bookings were found for \"{}\" state after {}", bookings.size(), bookingState, cursor);
+        return bookings;
     }
 
     @Override
-    public List<Booking> findBookingByStateForOwner(Long userId, String state, Pageable pageRequest) {
-        BookingState bookingState;
-        userService.findUserById(userId);
-        try {
-            bookingState = BookingState.valueOf(state.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new BadRequestException("Unknown state: " + state);
-        }
+    public List<BookingResponseDto> findBookingByStateForOwner(Long userId, String state, KeysetCursor cursor, Integer size) {
+        userService.checkUserExists(userId);
+        BookingState bookingState = parseState(state);
+        Pageable limit = PageRequest.of(0, size);
+        LocalDateTime start = cursor.getTimestamp();
+        Long id = cursor.getId();
 
-        Iterable<Booking> bookings = new ArrayList<>();
+        List<BookingResponseDto> bookings = new ArrayList<>();
         switch (bookingState) {
             case ALL:
-                bookings = bookingRepository.findByOwnerId(userId, pageRequest);
+                bookings = bookingRepository.findByOwnerIdAfterCursor(userId, start, id, limit);
                 break;
             case CURRENT:
-                bookings = bookingRepository.findByOwnerIdCurrentState(userId, LocalDateTime.now(), pageRequest);
+                bookings = bookingRepository
+                        .findByOwnerIdCurrentStateAfterCursor(userId, LocalDateTime.now(), start, id, limit);
                 break;
             case PAST:
-                bookings = bookingRepository.findByOwnerIdPastState(userId, LocalDateTime.now(), pageRequest);
+                bookings = bookingRepository
+                        .findByOwnerIdPastStateAfterCursor(userId, LocalDateTime.now(), start, id, limit);
                 break;
             case FUTURE:
-                bookings = bookingRepository.findByOwnerIdFutureState(userId, LocalDateTime.now(), pageRequest);
+                bookings = bookingRepository
+                        .findByOwnerIdFutureStateAfterCursor(userId, LocalDateTime.now(), start, id, limit);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByOwnerIdAndStatus(userId, BookingStatus.WAITING, pageRequest);
+                bookings = bookingRepository
+                        .findByOwnerIdAndStatusAfterCursor(userId, BookingStatus.WAITING, start, id, limit);
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByOwnerIdAndStatus(userId, BookingStatus.REJECTED, pageRequest);
+                bookings = bookingRepository
+                        .findByOwnerIdAndStatusAfterCursor(userId, BookingStatus.REJECTED, start, id, limit);
+        }
+        log.info("{} bookings were found for \"{}\" state after {}", bookings.size(), bookingState, cursor);
+        return bookings;
+    }
+
+    /**
+     * Runs the booker and owner queries of all states concurrently on {@code bookingQueryExecutor},
+     * the first one on the calling thread, after a single check of the user. Every query has its own short
+     * transaction and the method none, so the calling thread holds no connection while it waits for the others.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BookingViewsDto findBookingViews(Long userId, List<String> states, Integer from, Integer size) {
+        userService.checkUserExists(userId);
+        Set<BookingState> bookingStates = new LinkedHashSet<>();
+        states.forEach(state -> bookingStates.add(parseState(state)));
+        if (bookingStates.isEmpty()) {
+            throw new BadRequestException("No states requested");
+        }
+        Pageable bookerPage = PageRequest.of(from / size, size, Sort.by("start").descending()
+                .and(Sort.by("id").descending()));
+        Pageable ownerPage = PageRequest.of(from / size, size);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Supplier<List<BookingResponseDto>>> queries = new ArrayList<>();
+        for (BookingState bookingState : bookingStates) {
+            queries.add(() -> findBookerBookings(userId, bookingState, now, bookerPage));
+            queries.add(() -> findOwnerBookings(userId, bookingState, now, ownerPage));
+        }
+        List<List<BookingResponseDto>> results = runConcurrently(queries);
+
+        Map<String, List<BookingResponseDto>> booker = new LinkedHashMap<>();
+        Map<String, List<BookingResponseDto>> owner = new LinkedHashMap<>();
+        int i = 0;
+        for (BookingState bookingState : bookingStates) {
+            booker.put(bookingState.name(), results.get(i++));
+            owner.put(bookingState.name(), results.get(i++));
+        }
+        log.info("Booking views were found for {} states", bookingStates.size());
+        return new BookingViewsDto(booker, owner);
+    }
+
+    private List<BookingResponseDto> findBookerBookings(Long userId, BookingState bookingState, LocalDateTime now,
+                                                        Pageable pageRequest) {
+        switch (bookingState) {
+            case CURRENT:
+                return bookingRepository.findByBookerIdAndCurrentState(userId, now, pageRequest);
+            case PAST:
+                return bookingRepository.findByBookerIdAndEndBefore(userId, now, pageRequest);
+            case FUTURE:
+                return bookingRepository.findByBookerIdAndStartAfter(userId, now, pageRequest);
+            case WAITING:
+                return bookingRepository.findByBookerIdAndStatusIs(userId, BookingStatus.WAITING, pageRequest);
+            case REJECTED:
+                return bookingRepository.findByBookerIdAndStatusIs(userId, BookingStatus.REJECTED, pageRequest);
+            default:
+                return bookingRepository.findByBookerId(userId, pageRequest);
+        }
+    }
+
+    private List<BookingResponseDto> findOwnerBookings(Long userId, BookingState bookingState, LocalDateTime now,
+                                                       Pageable pageRequest) {
+        switch (bookingState) {
+            case CURRENT:
+                return bookingRepository.findByOwnerIdCurrentState(userId, now, pageRequest);
+            case PAST:
+                return bookingRepository.findByOwnerIdPastState(userId, now, pageRequest);
+            case FUTURE:
+                return bookingRepository.findByOwnerIdFutureState(userId, now, pageRequest);
+            case WAITING:
+                return bookingRepository.findByOwnerIdAndStatus(userId, BookingStatus.WAITING, pageRequest);
+            case REJECTED:
+                return bookingRepository.findByOwnerIdAndStatus(userId, BookingStatus.REJECTED, pageRequest);
+            default:
+                return bookingRepository.findByOwnerId(userId, pageRequest);
+        }
+    }
+
+    private <T> List<T> runConcurrently(List<Supplier<T>> queries) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (Supplier<T> query : queries.subList(1, queries.size())) {
+            futures.add(CompletableFuture.supplyAsync(() -> inTransaction(query), bookingQueryExecutor));
+        }
+        List<T> results = new ArrayList<>();
+        try {
+            results.add(inTransaction(queries.get(0)));
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
+        return results;
+    }
+
+    private <T> T inTransaction(Supplier<T> query) {
+        return bookingQueryTransaction.execute(status -> query.get());
+    }
+
+    private boolean overlapsApprovedBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository
+                .existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED, end, start);
+    }
+
+    private BookingState parseState(String state) {
+        try {
+            return BookingState.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown state: " + state);
         }
-        List<Booking> bookingList = new ArrayList<>();
-        bookings.forEach(bookingList::add);
-        log.info("{} bookings were found for \"{}\" state", bookingList.size(), bookingState);
-        return bookingList;
     }
 }
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approved booking windows of items, loaded on first request and kept as sorted, disjoint
+ * intervals in primitive arrays of epoch microseconds.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemAvailabilityCache {
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, CompletableFuture<Schedule>> schedules = new ConcurrentHashMap<>();
+
+    @Value("${shareit.booking.availability-cache.max-items:10000}")
+    private int maxItems;
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return getSchedule(itemId).isFree(toMicros(start), toMicros(end));
+    }
+
+    public LocalDateTime findNextFreeStart(Long itemId, LocalDateTime from, Duration duration) {
+        long start = toMicros(from);
+        return toDateTime(getSchedule(itemId).findNextFreeStart(start, toMicros(from.plus(duration)) - start));
+    }
+
+    /**
+     * Drops the cached windows of the item once the current transaction commits, so that
+     * the next lookup sees the committed bookings.
+     */
+    public void invalidate(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedules.remove(itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedules.remove(itemId);
+            }
+        });
+    }
+
+    /**
+     * Loads the windows outside of any map lock. Lookups of the same item wait for the running load, and
+     * an invalidate during the load removes it from the map, so a result read before a commit is not kept.
+     */
+    private Schedule getSchedule(Long itemId) {
+        CompletableFuture<Schedule> schedule = schedules.get(itemId);
+        if (schedule == null) {
+            if (schedules.size() >= maxItems) {
+                schedules.clear();
+            }
+            CompletableFuture<Schedule> loading = new CompletableFuture<>();
+            schedule = schedules.putIfAbsent(itemId, loading);
+            if (schedule == null) {
+                try {
+                    Schedule loaded = load(itemId);
+                    loading.complete(loaded);
+                    return loaded;
+                } catch (RuntimeException e) {
+                    schedules.remove(itemId, loading);
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return schedule.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Schedule load(Long itemId) {
+        List<BookingWindow> windows = bookingRepository
+                .findByItemIdAndStatusOrderByStart(itemId, BookingStatus.APPROVED);
+        long[] starts = new long[windows.size()];
+        long[] ends = new long[windows.size()];
+        int size = 0;
+        for (BookingWindow window : windows) {
+            long start = toMicros(window.getStart());
+            long end = toMicros(window.getEnd());
+            if (size > 0 && start <= ends[size - 1]) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+        log.debug("Availability of item {} was loaded: {} busy windows", itemId, size);
+        return new Schedule(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static class Schedule {
+        private final long[] starts;
+        private final long[] ends;
+
+        Schedule(long[] starts, long[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        boolean isFree(long start, long end) {
+            int i = firstEndingAfter(start);
+            return i == ends.length || starts[i] >= end;
+        }
+
+        long findNextFreeStart(long from, long duration) {
+            long start = from;
+            for (int i = firstEndingAfter(from); i < ends.length && starts[i] < start + duration; i++) {
+                start = Math.max(start, ends[i]);
+            }
+            return start;
+        }
+
+        private int firstEndingAfter(long time) {
+            int position = Arrays.binarySearch(ends, time);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+    }
+}
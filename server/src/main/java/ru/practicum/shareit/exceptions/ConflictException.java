@@ -0,0 +1,11 @@
+package ru.practicum.shareit.exceptions;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException() {
+        super();
+    }
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
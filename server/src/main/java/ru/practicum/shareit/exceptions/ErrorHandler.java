@@ -23,6 +23,13 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler()
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse conflictHandle(final ConflictException e) {
+        log.error("Conflict : " + e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
     private static class ErrorResponse {
         String error;
 
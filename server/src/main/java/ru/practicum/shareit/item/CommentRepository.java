@@ -2,19 +2,39 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("select c " +
             "from Comment as c " +
-            "join c.item as i " +
-            "where i.id in(select i.id " +
-            "from i where i.ownerId = ?1)")
-    List<Comment> findByOwnerId(Long ownerId);
+            "join fetch c.author " +
+            "where c.item.id in ?1 " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findByItemIdInOrderByCreatedDesc(Collection<Long> itemIds);
+
+    /**
+     * Ids of the {@code limit} newest comments of each item, so that only those rows are loaded.
+     */
+    @Query(value = "select ranked.id " +
+            "from (select c.id, row_number() over " +
+            "(partition by c.item_id order by c.created_date desc, c.id desc) as item_row " +
+            "from comments as c " +
+            "where c.item_id in (:itemIds)) as ranked " +
+            "where ranked.item_row <= :limit", nativeQuery = true)
+    List<Long> findNewestIdsByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
+
+    @Query("select c " +
+            "from Comment as c " +
+            "join fetch c.author " +
+            "where c.id in ?1 " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findByIdInOrderByCreatedDesc(Collection<Long> ids);
 
     List<Comment> findByItemId(Long itemId);
 }
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over name and description tokens of available items.
+ * A query matches an item when every query token is a prefix of one of the item's tokens.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final NavigableMap<String, LongPostingList> postings = new TreeMap<>();
+    private final Map<Long, String[]> itemTokens = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${shareit.item.search-index.enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            itemTokens.clear();
+            long lastId = 0;
+            List<Item> batch = itemRepository
+                    .findByAvailableTrueAndIdGreaterThanOrderById(lastId, PageRequest.of(0, BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                for (Item item : batch) {
+                    add(item);
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+                batch = itemRepository
+                        .findByAvailableTrueAndIdGreaterThanOrderById(lastId, PageRequest.of(0, BATCH_SIZE));
+            }
+            log.info("Item search index was built: {} items, {} tokens", itemTokens.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                add(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the matching items in ascending order, paged the same way as {@link ItemRepository#search}.
+     * Unavailable items never get into the posting lists, so the page needs no filtering afterwards.
+     */
+    public List<Long> search(String query, Pageable pageable) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0) {
+            return new ArrayList<>();
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = findByPrefix(queryTokens[0]);
+            for (int i = 1; i < queryTokens.length && ids.length > 0; i++) {
+                ids = LongPostingList.intersect(ids, findByPrefix(queryTokens[i]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> page = new ArrayList<>();
+        for (long i = pageable.getOffset(); i < ids.length && page.size() < pageable.getPageSize(); i++) {
+            page.add(ids[(int) i]);
+        }
+        return page;
+    }
+
+    private long[] findByPrefix(String prefix) {
+        return LongPostingList.union(postings
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, true)
+                .values());
+    }
+
+    private void add(Item item) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(Arrays.asList(tokenize(item.getName())));
+        tokens.addAll(Arrays.asList(tokenize(item.getDescription())));
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> new LongPostingList()).add(item.getId());
+        }
+        itemTokens.put(item.getId(), tokens.toArray(new String[0]));
+    }
+
+    private void remove(Long itemId) {
+        String[] tokens = itemTokens.remove(itemId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            LongPostingList postingList = postings.get(token);
+            postingList.remove(itemId);
+            if (postingList.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+}
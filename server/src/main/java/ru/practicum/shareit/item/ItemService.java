@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithDateAndCommentsDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -18,5 +20,9 @@ public interface ItemService {
 
     List<ItemDto> getItemsByQuery(Long userId, String query, Integer from, Integer size);
 
+    ItemAvailabilityDto checkAvailability(Long userId, Long itemId, LocalDateTime start, LocalDateTime end);
+
+    ItemAvailabilityDto findNextAvailability(Long userId, Long itemId, LocalDateTime start, LocalDateTime end);
+
     CommentDto createComment(Long userId, Long itemId, CommentDto commentDto);
 }
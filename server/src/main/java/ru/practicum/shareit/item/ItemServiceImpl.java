@@ -2,16 +2,22 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemAvailabilityCache;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithDateAndCommentsDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -20,30 +26,42 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
     private final UserService userService;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemAvailabilityCache availabilityCache;
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
 
+    @Value("${shareit.item.comments-limit:0}")
+    private int commentsLimit;
+
     @Override
     public Item createItem(Long userId, ItemDto itemDto) {
-        userService.findUserById(userId);
+        userService.checkUserExists(userId);
         Item item = itemMapper.toItem(itemDto, userId);
         item = itemRepository.save(item);
-        log.info("Item is added: {}", item);
+        itemSearchIndex.index(item);
+        log.info("Item {} is added", item.getId());
         return item;
     }
 
@@ -66,59 +84,60 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepository.save(item);
-        log.info("Item was updated in DB. New item is: {}", item);
+        itemSearchIndex.index(item);
+        log.info("Item {} was updated in DB", item.getId());
         return itemMapper.mapToItemDto(item);
     }
 
     @Override
     public ItemWithDateAndCommentsDto findItemById(Long userId, Long id) {
-        userService.findUserById(userId);
+        userService.checkUserExists(userId);
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Item with such id wasn't found"));
-        log.info("Item was found in DB: {}", item);
+        log.info("Item {} was found in DB", id);
         List<Comment> comment = commentRepository.findByItemId(id);
-        BookingDto lastBooking = getLastBooking(item.getId());
-        BookingDto nextBooking = getNextBooking(item.getId());
+        ItemWithDateAndCommentsDto.ItemWithDateAndCommentsDtoBuilder builder = ItemWithDateAndCommentsDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .comments(commentMapper.toCommentDtos(comment));
 
         if (item.getOwnerId().equals(userId)) {
-            return ItemWithDateAndCommentsDto.builder()
-                    .id(item.getId())
-                    .name(item.getName())
-                    .description(item.getDescription())
-                    .available(item.getAvailable())
-                    .lastBooking(lastBooking)
-                    .nextBooking(nextBooking)
-                    .comments(commentMapper.toCommentDtos(comment))
-                    .build();
-        } else {
-            return ItemWithDateAndCommentsDto.builder()
-                    .id(item.getId())
-                    .name(item.getName())
-                    .description(item.getDescription())
-                    .available(item.getAvailable())
-                    .comments(commentMapper.toCommentDtos(comment))
-                    .build();
+            LocalDateTime now = LocalDateTime.now();
+            builder.lastBooking(getLastBooking(item.getId(), now))
+                    .nextBooking(getNextBooking(item.getId(), now));
         }
+        return builder.build();
     }
 
     @Override
     public List<ItemWithDateAndCommentsDto> findItemsByUserId(Long userId, Integer from, Integer size) {
-        userService.findUserById(userId);
+        userService.checkUserExists(userId);
         List<Item> userItems = itemRepository.findByOwnerIdOrderById(userId, PageRequest.of(from / size, size));
         List<ItemWithDateAndCommentsDto> itemWithDateAndCommentsDtos = new ArrayList<>();
-        List<CommentDto> commentDtos = commentMapper.toCommentDtos(commentRepository.findByOwnerId(userId));
+        if (userItems.isEmpty()) {
+            log.info("User with id {} has no items", userId);
+            return itemWithDateAndCommentsDtos;
+        }
+        List<Long> itemIds = userItems.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<CommentDto>> comments = mapCommentsByItemId(findNewestComments(itemIds));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDto> lastBookings = mapBookingsByItemId(bookingRepository
+                .findLastBookingsByItemIds(itemIds, BookingStatus.APPROVED, now));
+        Map<Long, BookingDto> nextBookings = mapBookingsByItemId(bookingRepository
+                .findNextBookingsByItemIds(itemIds, BookingStatus.APPROVED, now));
         for (Item item : userItems) {
-            BookingDto lastBooking = getLastBooking(item.getId());
-            BookingDto nextBooking = getNextBooking(item.getId());
-
             itemWithDateAndCommentsDtos.add(ItemWithDateAndCommentsDto.builder()
                     .id(item.getId())
                     .name(item.getName())
                     .description(item.getDescription())
                     .available(item.getAvailable())
-                    .lastBooking(lastBooking)
-                    .nextBooking(nextBooking)
-                    .comments(commentDtos)
+                    .lastBooking(lastBookings.get(item.getId()))
+                    .nextBooking(nextBookings.get(item.getId()))
+                    .comments(comments.getOrDefault(item.getId(), Collections.emptyList()))
                     .build());
         }
         log.info("User with id {} has {} items", userId, itemWithDateAndCommentsDtos.size());
@@ -127,17 +146,50 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> getItemsByQuery(Long userId, String query, Integer from, Integer size) {
-        userService.findUserById(userId);
+        userService.checkUserExists(userId);
         List<ItemDto> userItems = new ArrayList<>();
         if (query == null || query.isEmpty()) {
             log.info("Query is empty or null");
             return userItems;
         }
-        userItems = itemMapper.mapToItemDto(itemRepository.search(query, PageRequest.of(from / size, size)));
+        Pageable page = PageRequest.of(from / size, size, Sort.by("id"));
+        if (itemSearchIndex.isEnabled()) {
+            userItems = itemMapper.mapToItemDto(findIndexedItems(query, page));
+        } else {
+            userItems = itemMapper.mapToItemDto(itemRepository.search(query, page));
+        }
         log.info("{} items were found for \"{}\" query", userItems.size(), query);
         return userItems;
     }
 
+    @Override
+    public ItemAvailabilityDto checkAvailability(Long userId, Long itemId, LocalDateTime start, LocalDateTime end) {
+        checkAvailabilityRequest(userId, itemId, start, end);
+        boolean available = availabilityCache.isFree(itemId, start, end);
+        log.info("Item {} is {}available from {} to {}", itemId, available ? "" : "not ", start, end);
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .available(available)
+                .build();
+    }
+
+    @Override
+    public ItemAvailabilityDto findNextAvailability(Long userId, Long itemId, LocalDateTime start,
+                                                    LocalDateTime end) {
+        checkAvailabilityRequest(userId, itemId, start, end);
+        Duration duration = Duration.between(start, end);
+        LocalDateTime freeStart = availabilityCache.findNextFreeStart(itemId, start, duration);
+        log.info("Item {} is next available from {} for {}", itemId, freeStart, duration);
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .start(freeStart)
+                .end(freeStart.plus(duration))
+                .available(true)
+                .build();
+    }
+
     @Override
     public CommentDto createComment(Long userId, Long itemId, CommentDto commentDto) {
         User author = userMapper.toUser(userService.findUserById(userId));
@@ -146,8 +198,8 @@ public class ItemServiceImpl implements ItemService {
         boolean isAuthorBooker = bookingRepository
                 .findByBookerIdAndEndBefore(userId, LocalDateTime.now(), null)
                 .stream()
-                .map(Booking::getItem)
-                .map(Item::getId)
+                .map(BookingResponseDto::getItem)
+                .map(BookingResponseDto.ItemShort::getId)
                 .anyMatch(x -> x.equals(itemId));
         if (!isAuthorBooker) {
             throw new BadRequestException("Attempt to post comment by user who hasn't booked this item yet");
@@ -159,29 +211,70 @@ public class ItemServiceImpl implements ItemService {
                 .created(LocalDateTime.now())
                 .build();
         comment = commentRepository.save(comment);
-        log.info("Comment was added: {}", comment);
+        log.info("Comment was added to item {} by user {}", itemId, userId);
         return commentMapper.toCommentDto(comment);
     }
 
-    private BookingDto getLastBooking(Long itemId) {
-        Booking booking = bookingRepository
-                .findByItemIdOrderByStart(itemId)
-                .stream()
-                .filter(x -> x.getStatus().equals(BookingStatus.APPROVED))
-                .filter(x -> x.getStart().isBefore(LocalDateTime.now()))
-                .max(Comparator.comparing(Booking::getStart))
+    private void checkAvailabilityRequest(Long userId, Long itemId, LocalDateTime start, LocalDateTime end) {
+        userService.checkUserExists(userId);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("Availability is requested with incorrect date");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item with such id wasn't found");
+        }
+    }
+
+    private List<Item> findIndexedItems(String query, Pageable page) {
+        List<Long> itemIds = itemSearchIndex.search(query, page);
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemRepository.findAllById(itemIds).stream()
+                .sorted(Comparator.comparing(Item::getId))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, BookingDto> mapBookingsByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toMap(BookingDto::getItemId, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Newest first; with a positive {@code commentsLimit} the limit per item is applied in SQL.
+     */
+    private List<Comment> findNewestComments(List<Long> itemIds) {
+        if (commentsLimit <= 0) {
+            return commentRepository.findByItemIdInOrderByCreatedDesc(itemIds);
+        }
+        List<Long> commentIds = commentRepository.findNewestIdsByItemIdIn(itemIds, commentsLimit);
+        if (commentIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return commentRepository.findByIdInOrderByCreatedDesc(commentIds);
+    }
+
+    private Map<Long, List<CommentDto>> mapCommentsByItemId(List<Comment> comments) {
+        Map<Long, List<CommentDto>> commentsByItemId = new HashMap<>();
+        for (Comment comment : comments) {
+            commentsByItemId.computeIfAbsent(comment.getItem().getId(), itemId -> new ArrayList<>())
+                    .add(commentMapper.toCommentDto(comment));
+        }
+        return commentsByItemId;
+    }
+
+    private BookingDto getLastBooking(Long itemId, LocalDateTime now) {
+        return bookingRepository
+                .findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(itemId, BookingStatus.APPROVED, now)
+                .map(bookingMapper::toBookingDto)
                 .orElse(null);
-        return booking != null ? bookingMapper.toBookingDto(booking) : null;
     }
 
-    private BookingDto getNextBooking(Long itemId) {
-        Booking booking = bookingRepository
-                .findByItemIdOrderByStart(itemId)
-                .stream()
-                .filter(x -> x.getStatus().equals(BookingStatus.APPROVED))
-                .filter(x -> x.getStart().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStart))
+    private BookingDto getNextBooking(Long itemId, LocalDateTime now) {
+        return bookingRepository
+                .findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(itemId, BookingStatus.APPROVED, now)
+                .map(bookingMapper::toBookingDto)
                 .orElse(null);
-        return booking != null ? bookingMapper.toBookingDto(booking) : null;
     }
 }
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Sorted set of item ids backed by a primitive array, used as a posting list of {@link ItemSearchIndex}.
+ */
+class LongPostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long value) {
+        if (size == 0 || values[size - 1] < value) {
+            ensureCapacity();
+            values[size++] = value;
+            return;
+        }
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position >= 0) {
+            return;
+        }
+        int insertion = -position - 1;
+        ensureCapacity();
+        System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+        values[insertion] = value;
+        size++;
+    }
+
+    void remove(long value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    static long[] union(Collection<LongPostingList> postingLists) {
+        int total = 0;
+        for (LongPostingList postingList : postingLists) {
+            total += postingList.size;
+        }
+        long[] result = new long[total];
+        int k = 0;
+        for (LongPostingList postingList : postingLists) {
+            System.arraycopy(postingList.values, 0, result, k, postingList.size);
+            k += postingList.size;
+        }
+        if (postingLists.size() < 2) {
+            return result;
+        }
+        Arrays.sort(result);
+        int distinct = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (i == 0 || result[i] != result[i - 1]) {
+                result[distinct++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[k++] = first[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private void ensureCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -17,6 +19,8 @@ import java.util.List;
 @AllArgsConstructor
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ItemRequestService requestService;
 
     @PostMapping
@@ -31,12 +35,25 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(value = "from", defaultValue = "0",
-                                                           required = false) Integer from,
-                                                   @RequestParam(value = "size", defaultValue = "20",
-                                                           required = false) Integer size) {
-        return requestService.getAllItemRequests(userId, from, size);
+    public ResponseEntity<List<ItemRequestDto>> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @RequestParam(value = "from", defaultValue = "0",
+                                                                           required = false) Integer from,
+                                                                   @RequestParam(value = "size", defaultValue = "20",
+                                                                           required = false) Integer size,
+                                                                   @RequestParam(value = "cursor",
+                                                                           required = false) String cursor) {
+        List<ItemRequestDto> requests;
+        if (cursor == null || cursor.isEmpty()) {
+            requests = requestService.getAllItemRequests(userId, cursor == null ? from : 0, size);
+        } else {
+            requests = requestService.getAllItemRequests(userId, KeysetCursor.decode(cursor), size);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (cursor != null && requests.size() == size) {
+            ItemRequestDto last = requests.get(requests.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getCreated(), last.getId()).encode());
+        }
+        return response.body(requests);
     }
 
     @GetMapping("/{requestId}")
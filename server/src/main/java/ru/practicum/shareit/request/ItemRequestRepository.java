@@ -1,9 +1,25 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findByRequestorIdOrderByCreated(Long userId);
+
+    List<ItemRequest> findByRequestorIdNot(Long userId, Pageable pageable);
+
+    @Query("select ir " +
+            "from ItemRequest as ir " +
+            "where ir.requestor.id <> :userId " +
+            "and (ir.created > :created or (ir.created = :created and ir.id > :id)) " +
+            "order by ir.created, ir.id")
+    List<ItemRequest> findByRequestorIdNotAfterCursor(@Param("userId") Long userId,
+                                                      @Param("created") LocalDateTime created,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -11,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllItemRequests(Long userId, int from, int size);
 
+    List<ItemRequestDto> getAllItemRequests(Long userId, KeysetCursor cursor, int size);
+
     ItemRequestDto getItemRequestById(Long userId, Long requestId);
 }
@@ -6,16 +6,20 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,47 +42,74 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .requestor(user)
                 .build();
         itemRequest = requestRepository.save(itemRequest);
-        log.info("Request is added: {}", itemRequest);
+        log.info("Request {} is added by user {}", itemRequest.getId(), userId);
         return itemRequest;
     }
 
     @Override
     public List<ItemRequestDto> getItemRequests(Long userId) {
-        userService.findUserById(userId);
+        userService.checkUserExists(userId);
         List<ItemRequestDto> itemRequests = requestRepository
                 .findByRequestorIdOrderByCreated(userId)
                 .stream()
                 .map(itemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
 
-        itemRequests.forEach(ir -> ir.setItems(itemMapper.mapToItemDto(itemRepository.findByRequestId(ir.getId()))));
+        addItems(itemRequests);
         log.info("User with id {} has {} requests", userId, itemRequests.size());
         return itemRequests;
     }
 
     @Override
     public List<ItemRequestDto> getAllItemRequests(Long userId, int from, int size) {
-        userService.findUserById(userId);
-        Pageable pageRequest = PageRequest.of(from / size, size, Sort.by("created").ascending());
-        List<ItemRequestDto> requests = requestRepository.findAll(pageRequest).stream()
-                .filter(r -> !r.getRequestor().getId().equals(userId))
+        userService.checkUserExists(userId);
+        Pageable pageRequest = PageRequest.of(from / size, size, Sort.by("created").ascending()
+                .and(Sort.by("id").ascending()));
+        List<ItemRequestDto> requests = requestRepository.findByRequestorIdNot(userId, pageRequest).stream()
                 .map(itemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
 
-        requests.forEach(ir -> ir.setItems(itemMapper.mapToItemDto(itemRepository.findByRequestId(ir.getId()))));
+        addItems(requests);
         log.info("Requests quantity is: {}", requests.size());
         return requests;
     }
 
+    @Override
+    public List<ItemRequestDto> getAllItemRequests(Long userId, KeysetCursor cursor, int size) {
+        userService.checkUserExists(userId);
+        List<ItemRequestDto> requests = requestRepository
+                .findByRequestorIdNotAfterCursor(userId, cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, size))
+                .stream()
+                .map(itemRequestMapper::toItemRequestDto)
+                .collect(Collectors.toList());
+
+        addItems(requests);
+        log.info("Requests quantity after {} is: {}", cursor, requests.size());
+        return requests;
+    }
+
     @Override
     public ItemRequestDto getItemRequestById(Long userId, Long requestId) {
-        userService.findUserById(userId);
+        userService.checkUserExists(userId);
         ItemRequestDto requestDto = itemRequestMapper.toItemRequestDto(requestRepository
                 .findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Request with such id wasn't found")));
 
         requestDto.setItems(itemMapper.mapToItemDto(itemRepository.findByRequestId(requestId)));
-        log.info("Request was found in DB: {}", requestDto);
+        log.info("Request {} was found in DB with {} items", requestId, requestDto.getItems().size());
         return requestDto;
     }
+
+    private void addItems(List<ItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequestDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findByRequestIdInOrderById(requestIds).stream()
+                .map(itemMapper::mapToItemDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        requests.forEach(ir -> ir.setItems(itemsByRequestId.getOrDefault(ir.getId(), new ArrayList<>())));
+    }
 }
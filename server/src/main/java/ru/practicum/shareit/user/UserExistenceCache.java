@@ -0,0 +1,46 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of users recently seen in the database, so that request paths which only validate
+ * the X-Sharer-User-Id header do not query the users table each time.
+ */
+@Component
+public class UserExistenceCache {
+    private final Map<Long, Long> expirations = new ConcurrentHashMap<>();
+
+    @Value("${shareit.user.existence-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${shareit.user.existence-cache.ttl:60s}")
+    private Duration ttl;
+
+    public boolean contains(Long id) {
+        Long expiration = expirations.get(id);
+        if (expiration == null) {
+            return false;
+        }
+        if (expiration - System.nanoTime() < 0) {
+            expirations.remove(id, expiration);
+            return false;
+        }
+        return true;
+    }
+
+    public void put(Long id) {
+        if (expirations.size() >= maxSize) {
+            expirations.clear();
+        }
+        expirations.put(id, System.nanoTime() + ttl.toNanos());
+    }
+
+    public void evict(Long id) {
+        expirations.remove(id);
+    }
+}
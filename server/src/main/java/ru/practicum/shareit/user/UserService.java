@@ -13,5 +13,7 @@ public interface UserService {
 
     UserDto findUserById(Long id);
 
+    void checkUserExists(Long id);
+
     void deleteUser(Long id);
 }
@@ -14,6 +14,7 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistenceCache userExistenceCache;
 
     @Override
     public List<UserDto> findAll() {
@@ -25,7 +26,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto create(User user) {
         user = userRepository.save(user);
-        log.info("User is added: {}", user);
+        log.info("User {} is added", user.getId());
         return userMapper.toUserDto(user);
     }
 
@@ -39,7 +40,8 @@ public class UserServiceImpl implements UserService {
             user.setEmail(userDto.getEmail());
         }
         userRepository.save(user);
-        log.info("User was updated in DB. New user is: {}", user);
+        userExistenceCache.evict(id);
+        log.info("User {} was updated in DB", user.getId());
         return userMapper.toUserDto(user);
     }
 
@@ -47,13 +49,26 @@ public class UserServiceImpl implements UserService {
     public UserDto findUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User with such id wasn't found"));
-        log.info("User was found in DB: {}", user);
+        userExistenceCache.put(id);
+        log.info("User {} was found in DB", id);
         return userMapper.toUserDto(user);
     }
 
+    @Override
+    public void checkUserExists(Long id) {
+        if (userExistenceCache.contains(id)) {
+            return;
+        }
+        if (!userRepository.existsById(id)) {
+            throw new NotFoundException("User with such id wasn't found");
+        }
+        userExistenceCache.put(id);
+    }
+
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        userExistenceCache.evict(id);
         log.info("User with id{} was deleted", id);
     }
 }
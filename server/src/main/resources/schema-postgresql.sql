@@ -0,0 +1,19 @@
+create EXTENSION IF NOT EXISTS pg_trgm;
+
+create INDEX IF NOT EXISTS items_available_name_trgm_idx
+    ON items USING gin (upper(name) gin_trgm_ops)
+    WHERE is_available;
+
+create INDEX IF NOT EXISTS items_available_description_trgm_idx
+    ON items USING gin (upper(description) gin_trgm_ops)
+    WHERE is_available;
+
+create EXTENSION IF NOT EXISTS btree_gist;
+
+DO 'BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''bookings_approved_no_overlap'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+            WHERE (status = ''APPROVED'');
+    END IF;
+END';
@@ -43,3 +43,15 @@ create TABLE IF NOT EXISTS comments (
     CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id),
     CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id)
 );
+
+create INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id);
+
+create INDEX IF NOT EXISTS comments_item_id_created_date_idx ON comments (item_id, created_date);
+
+create INDEX IF NOT EXISTS bookings_item_id_start_date_idx ON bookings (item_id, start_date);
+
+create INDEX IF NOT EXISTS bookings_user_id_start_date_idx ON bookings (user_id, start_date);
+
+create INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+create INDEX IF NOT EXISTS requests_created_date_id_idx ON requests (created_date, id);
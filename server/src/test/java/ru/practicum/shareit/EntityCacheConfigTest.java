@@ -0,0 +1,36 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.cache.CacheManager;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class EntityCacheConfigTest {
+
+    @Test
+    void entityCacheManager_whenContextClosed_thenClosed() {
+        CacheManager cacheManager;
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(EntityCacheConfig.class)) {
+            cacheManager = context.getBean(CacheManager.class);
+            assertThat(cacheManager.isClosed(), equalTo(false));
+        }
+
+        assertThat(cacheManager.isClosed(), equalTo(true));
+    }
+
+    @Test
+    void entityCacheManager_whenSeparateContexts_thenSeparateManagers() {
+        try (AnnotationConfigApplicationContext first =
+                     new AnnotationConfigApplicationContext(EntityCacheConfig.class);
+             AnnotationConfigApplicationContext second =
+                     new AnnotationConfigApplicationContext(EntityCacheConfig.class)) {
+            assertThat(first.getBean(CacheManager.class), not(sameInstance(second.getBean(CacheManager.class))));
+        }
+    }
+}
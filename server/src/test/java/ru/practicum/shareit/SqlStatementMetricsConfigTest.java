@@ -0,0 +1,63 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest(properties = "db.name=test")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SqlStatementMetricsConfigTest {
+    private final EntityManager em;
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+
+    @SneakyThrows
+    @Test
+    void findAllUsers_whenTwoRequests_thenOneStatementRecordedPerRequest() {
+        em.persist(User.builder().name("Ivan").email("ivan@metrics.email").build());
+        em.flush();
+        DistributionSummary summary = meterRegistry.find("shareit.sql.statements")
+                .tags("method", "GET", "uri", "/users")
+                .summary();
+        long count = summary != null ? summary.count() : 0;
+        double total = summary != null ? summary.totalAmount() : 0;
+
+        mockMvc.perform(get("/users")).andExpect(status().isOk());
+        mockMvc.perform(get("/users")).andExpect(status().isOk());
+
+        summary = meterRegistry.get("shareit.sql.statements")
+                .tags("method", "GET", "uri", "/users")
+                .summary();
+        assertThat(summary.count() - count, equalTo(2L));
+        assertThat(summary.totalAmount() - total, equalTo(2.0));
+    }
+
+    @Test
+    void propagate_whenTaskRunsOnCountingThread_thenSectionIsKept() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        counter.start();
+        counter.inspect("select 1");
+
+        counter.propagate(() -> counter.inspect("select 2")).run();
+        counter.inspect("select 3");
+
+        assertThat(counter.stop(), equalTo(3));
+    }
+}
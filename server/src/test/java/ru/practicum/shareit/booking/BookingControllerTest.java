@@ -7,16 +7,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewsDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,9 +34,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = BookingController.class)
+@Import(BookingMapper.class)
 class BookingControllerTest {
 
     @Autowired
@@ -39,6 +48,9 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @Autowired
+    private BookingMapper bookingMapper;
+
     private Booking booking;
     Long userId = 1L;
 
@@ -70,7 +82,7 @@ class BookingControllerTest {
                 .getResponse()
                 .getContentAsString();
 
-        assertEquals(objectMapper.writeValueAsString(booking), result);
+        assertEquals(objectMapper.writeValueAsString(bookingMapper.toBookingResponseDto(booking)), result);
     }
 
     @SneakyThrows
@@ -90,7 +102,7 @@ class BookingControllerTest {
                 .getResponse()
                 .getContentAsString();
 
-        assertEquals(objectMapper.writeValueAsString(booking), result);
+        assertEquals(objectMapper.writeValueAsString(bookingMapper.toBookingResponseDto(booking)), result);
     }
 
     @SneakyThrows
@@ -105,7 +117,7 @@ class BookingControllerTest {
                 .getResponse()
                 .getContentAsString();
 
-        assertEquals(objectMapper.writeValueAsString(booking), result);
+        assertEquals(objectMapper.writeValueAsString(bookingMapper.toBookingResponseDto(booking)), result);
     }
 
     @SneakyThrows
@@ -122,7 +134,43 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
         verify(bookingService).findBookingsByState(userId, "future",
-                PageRequest.of(1 / 10, 10, Sort.by("start").descending()));
+                PageRequest.of(1 / 10, 10, Sort.by("start").descending().and(Sort.by("id").descending())));
+    }
+
+    @SneakyThrows
+    @Test
+    void findBookingsByStateWithCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2023, 1, 1, 12, 0), 7L);
+        BookingResponseDto bookingDto = bookingMapper.toBookingResponseDto(booking);
+        when(bookingService.findBookingsByState(anyLong(), any(), any(KeysetCursor.class), any()))
+                .thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", "all")
+                        .param("size", "1")
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor",
+                        new KeysetCursor(bookingDto.getStart(), bookingDto.getId()).encode()));
+        verify(bookingService).findBookingsByState(userId, "all", cursor, 1);
+    }
+
+    @SneakyThrows
+    @Test
+    void findBookingsByStateForOwnerWithEmptyCursor() {
+        when(bookingService.findBookingByStateForOwner(anyLong(), any(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", "30")
+                        .param("size", "10")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(content().json("[]"));
+        verify(bookingService).findBookingByStateForOwner(userId, "ALL", PageRequest.of(0, 10));
     }
 
     @SneakyThrows
@@ -140,4 +188,21 @@ class BookingControllerTest {
                 .andExpect(content().json("[]"));
         verify(bookingService).findBookingByStateForOwner(userId, "future", PageRequest.of(1 / 10, 10));
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void findBookingViews() {
+        BookingResponseDto bookingDto = bookingMapper.toBookingResponseDto(booking);
+        BookingViewsDto views = new BookingViewsDto(Map.of("ALL", List.of(bookingDto)), Map.of("ALL", List.of()));
+        when(bookingService.findBookingViews(anyLong(), any(), any(), any())).thenReturn(views);
+
+        mockMvc.perform(get("/bookings/views")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("states", "all,waiting")
+                        .param("from", "10")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(views)));
+        verify(bookingService).findBookingViews(userId, List.of("all", "waiting"), 10, 10);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest(properties = "db.name=test")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingQueryCountTest {
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final MockMvc mockMvc;
+    private final UserService userService;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("Owner").email("owner@query.count").build());
+        booker = persist(User.builder().name("Booker").email("booker@query.count").build());
+        Item drill = persist(Item.builder().name("Drill").description("Drill").available(true)
+                .ownerId(owner.getId()).build());
+        Item saw = persist(Item.builder().name("Saw").description("Saw").available(true)
+                .ownerId(owner.getId()).build());
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = List.of(
+                makeBooking(now.minusDays(3), now.minusDays(2), drill, BookingStatus.APPROVED),
+                makeBooking(now.minusDays(1), now.plusDays(1), saw, BookingStatus.APPROVED),
+                makeBooking(now.plusDays(1), now.plusDays(2), drill, BookingStatus.WAITING),
+                makeBooking(now.plusDays(3), now.plusDays(4), saw, BookingStatus.REJECTED));
+        bookings.forEach(em::persist);
+        em.flush();
+        em.clear();
+        emf.getCache().evictAll();
+        userService.checkUserExists(owner.getId());
+        userService.checkUserExists(booker.getId());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @CsvSource({
+            "/bookings, ALL", "/bookings, CURRENT", "/bookings, PAST",
+            "/bookings, FUTURE", "/bookings, WAITING", "/bookings, REJECTED",
+            "/bookings/owner, ALL", "/bookings/owner, CURRENT", "/bookings/owner, PAST",
+            "/bookings/owner, FUTURE", "/bookings/owner, WAITING", "/bookings/owner, REJECTED"})
+    void findBookingsByState_whenSeveralItemsAndBookings_thenSingleQuery(String path, String state) {
+        Long userId = path.endsWith("owner") ? owner.getId() : booker.getId();
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(path)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", state))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.name").exists())
+                .andExpect(jsonPath("$[0].booker.id").exists());
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    private <T> T persist(T entity) {
+        em.persist(entity);
+        return entity;
+    }
+
+    private Booking makeBooking(LocalDateTime start, LocalDateTime end, Item item, BookingStatus status) {
+        return Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+}
@@ -4,24 +4,31 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest(
@@ -90,6 +97,29 @@ class BookingServiceImplIntegrationTest {
         assertThat(updatedBooking.getStatus(), equalTo(BookingStatus.APPROVED));
     }
 
+    @Test
+    void approveOverlappingBookingTest() {
+        User user = makeUser("Ivan", "ivan@email");
+        User other = makeUser("Petr", "petr@email");
+        User owner = makeUser("Owner", "owner@email");
+        Item item = makeItem("Item", "description", true, owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking approved = makeBooking(start, start.plusDays(2), item, user, BookingStatus.WAITING);
+        Booking overlapping = makeBooking(start.plusDays(1), start.plusDays(3), item, other, BookingStatus.WAITING);
+        Booking adjacent = makeBooking(start.plusDays(2), start.plusDays(3), item, other, BookingStatus.WAITING);
+        for (Booking booking : List.of(approved, overlapping, adjacent)) {
+            em.persist(booking);
+        }
+        em.flush();
+
+        service.approveBooking(owner.getId(), approved.getId(), true);
+
+        assertThrows(ConflictException.class,
+                () -> service.approveBooking(owner.getId(), overlapping.getId(), true));
+        assertThat(service.approveBooking(owner.getId(), adjacent.getId(), true).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+    }
+
     @Test
     void findBookingByIdTest() {
         User user = makeUser("Ivan", "ivan@email");
@@ -147,7 +177,7 @@ class BookingServiceImplIntegrationTest {
         }
         em.flush();
 
-        List<Booking> targetBookings = service.findBookingsByState(user.getId(), "all", Pageable.unpaged());
+        List<BookingResponseDto> targetBookings = service.findBookingsByState(user.getId(), "all", Pageable.unpaged());
 
         assertThat(targetBookings, hasSize(sourceBookings.size()));
         for (Booking booking : sourceBookings) {
@@ -155,8 +185,8 @@ class BookingServiceImplIntegrationTest {
                     hasProperty("id", notNullValue()),
                     hasProperty("start", equalTo(booking.getStart())),
                     hasProperty("end", equalTo(booking.getEnd())),
-                    hasProperty("item", equalTo(booking.getItem())),
-                    hasProperty("booker", equalTo(booking.getBooker())),
+                    hasProperty("item", equalTo(new BookingResponseDto.ItemShort(item.getId(), item.getName()))),
+                    hasProperty("booker", equalTo(new BookingResponseDto.BookerShort(user.getId()))),
                     hasProperty("status", equalTo(booking.getStatus()))
             )));
         }
@@ -190,7 +220,7 @@ class BookingServiceImplIntegrationTest {
         }
         em.flush();
 
-        List<Booking> targetBookings = service.findBookingByStateForOwner(owner.getId(), "all", Pageable.unpaged());
+        List<BookingResponseDto> targetBookings = service.findBookingByStateForOwner(owner.getId(), "all", Pageable.unpaged());
 
         assertThat(targetBookings, hasSize(sourceBookings.size()));
         for (Booking booking : sourceBookings) {
@@ -198,13 +228,37 @@ class BookingServiceImplIntegrationTest {
                     hasProperty("id", notNullValue()),
                     hasProperty("start", equalTo(booking.getStart())),
                     hasProperty("end", equalTo(booking.getEnd())),
-                    hasProperty("item", equalTo(booking.getItem())),
-                    hasProperty("booker", equalTo(booking.getBooker())),
+                    hasProperty("item", equalTo(new BookingResponseDto.ItemShort(item.getId(), item.getName()))),
+                    hasProperty("booker", equalTo(new BookingResponseDto.BookerShort(user.getId()))),
                     hasProperty("status", equalTo(booking.getStatus()))
             )));
         }
     }
 
+    @Test
+    void findBookingByStateForOwnerAfterCursorTest() {
+        User user = makeUser("Ivan", "ivan@email");
+        User owner = makeUser("Owner", "owner@email");
+        Item item = makeItem("Item", "description", true, owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = makeBooking(start.plusDays(1), start.plusDays(2), item, user, BookingStatus.WAITING);
+        Booking second = makeBooking(start, start.plusDays(1), item, user, BookingStatus.WAITING);
+        Booking third = makeBooking(start, start.plusDays(1), item, user, BookingStatus.WAITING);
+        for (Booking booking : List.of(first, second, third)) {
+            em.persist(booking);
+        }
+        em.flush();
+
+        List<BookingResponseDto> firstPage = service.findBookingByStateForOwner(owner.getId(), "future",
+                PageRequest.of(0, 2));
+        List<BookingResponseDto> secondPage = service.findBookingByStateForOwner(owner.getId(), "future",
+                new KeysetCursor(firstPage.get(1).getStart(), firstPage.get(1).getId()), 2);
+
+        assertThat(firstPage, contains(hasProperty("id", equalTo(first.getId())),
+                hasProperty("id", equalTo(third.getId()))));
+        assertThat(secondPage, contains(hasProperty("id", equalTo(second.getId()))));
+    }
+
     private User makeUser(String name, String email) {
         User user = User.builder().name(name).email(email).build();
 
@@ -235,8 +289,8 @@ class BookingServiceImplIntegrationTest {
 
     private Booking makeBooking(LocalDateTime start, LocalDateTime end, Item item, User booker, BookingStatus status) {
         return Booking.builder()
-                .start(start)
-                .end(end)
+                .start(start.truncatedTo(ChronoUnit.SECONDS))
+                .end(end.truncatedTo(ChronoUnit.SECONDS))
                 .item(item)
                 .booker(booker)
                 .status(status)
@@ -6,12 +6,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewsDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
@@ -20,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -27,8 +36,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,7 +53,13 @@ class BookingServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
+    private ItemAvailabilityCache availabilityCache;
+    @Mock
     private UserMapper userMapper;
+    @Mock
+    private Executor bookingQueryExecutor;
+    @Mock
+    private TransactionTemplate bookingQueryTransaction;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -81,6 +99,7 @@ class BookingServiceImplTest {
 
         when(userMapper.toUser(any())).thenReturn(user);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(availabilityCache.isFree(item.getId(), dto.getStart(), dto.getEnd())).thenReturn(true);
         when(bookingRepository.save(any(Booking.class)))
                 .thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
@@ -132,6 +151,15 @@ class BookingServiceImplTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createBooking_whenItemIsBookedForThisTime_thenConflictExceptionThrown() {
+        when(itemRepository.findById(dto.getItemId())).thenReturn(Optional.of(item));
+        when(availabilityCache.isFree(item.getId(), dto.getStart(), dto.getEnd())).thenReturn(false);
+
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(user.getId(), dto));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void approveBooking_whenUserApproved_thenSavedBookingWithApprovedStatus() {
         item.setOwnerId(user.getId());
@@ -150,6 +178,7 @@ class BookingServiceImplTest {
         assertEquals(booking.getBooker(), actualBooking.getBooker());
         assertEquals(BookingStatus.APPROVED, actualBooking.getStatus());
         verify(bookingRepository).save(any());
+        verify(availabilityCache).invalidate(item.getId());
     }
 
     @Test
@@ -172,6 +201,20 @@ class BookingServiceImplTest {
         verify(bookingRepository).save(any());
     }
 
+    @Test
+    void approveBooking_whenItemIsBookedForThisTime_thenConflictExceptionThrown() {
+        item.setOwnerId(user.getId());
+        when(bookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(),
+                BookingStatus.APPROVED, booking.getEnd(), booking.getStart())).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> bookingService
+                .approveBooking(user.getId(), booking.getId(), true));
+        verify(itemRepository).lockById(item.getId());
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void approveBooking_whenUserIsNotOwner_thenNotFoundExceptionThrown() {
         when(bookingRepository.findById(booking.getId()))
@@ -228,7 +271,7 @@ class BookingServiceImplTest {
     void findBookingsByState_whenStateIsAll_thenAllBranchIsSelected() {
         when(bookingRepository.findByBookerId(anyLong(), any())).thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService.findBookingsByState(0L, "all", Pageable.unpaged());
+        List<BookingResponseDto> actualBookings = bookingService.findBookingsByState(0L, "all", Pageable.unpaged());
 
         assertNotNull(actualBookings);
         assertTrue(actualBookings.isEmpty());
@@ -240,7 +283,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByBookerIdAndCurrentState(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService.findBookingsByState(0L, "current", Pageable.unpaged());
+        List<BookingResponseDto> actualBookings = bookingService.findBookingsByState(0L, "current", Pageable.unpaged());
 
         assertNotNull(actualBookings);
         assertTrue(actualBookings.isEmpty());
@@ -252,7 +295,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByBookerIdAndEndBefore(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService.findBookingsByState(0L, "past", Pageable.unpaged());
+        List<BookingResponseDto> actualBookings = bookingService.findBookingsByState(0L, "past", Pageable.unpaged());
 
         assertNotNull(actualBookings);
         assertTrue(actualBookings.isEmpty());
@@ -264,7 +307,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByBookerIdAndStartAfter(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService.findBookingsByState(0L, "future", Pageable.unpaged());
+        List<BookingResponseDto> actualBookings = bookingService.findBookingsByState(0L, "future", Pageable.unpaged());
 
         assertNotNull(actualBookings);
         assertTrue(actualBookings.isEmpty());
@@ -276,7 +319,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByBookerIdAndStatusIs(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService.findBookingsByState(0L, "waiting", Pageable.unpaged());
+        List<BookingResponseDto> actualBookings = bookingService.findBookingsByState(0L, "waiting", Pageable.unpaged());
 
         assertNotNull(actualBookings);
         assertTrue(actualBookings.isEmpty());
@@ -288,7 +331,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByBookerIdAndStatusIs(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService.findBookingsByState(0L, "rejected", Pageable.unpaged());
+        List<BookingResponseDto> actualBookings = bookingService.findBookingsByState(0L, "rejected", Pageable.unpaged());
 
         assertNotNull(actualBookings);
         assertTrue(actualBookings.isEmpty());
@@ -307,7 +350,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByOwnerId(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService
+        List<BookingResponseDto> actualBookings = bookingService
                 .findBookingByStateForOwner(0L, "all", Pageable.unpaged());
 
         assertNotNull(actualBookings);
@@ -320,7 +363,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByOwnerIdCurrentState(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService
+        List<BookingResponseDto> actualBookings = bookingService
                 .findBookingByStateForOwner(0L, "Current", Pageable.unpaged());
 
         assertNotNull(actualBookings);
@@ -333,7 +376,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByOwnerIdPastState(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService
+        List<BookingResponseDto> actualBookings = bookingService
                 .findBookingByStateForOwner(0L, "Past", Pageable.unpaged());
 
         assertNotNull(actualBookings);
@@ -346,7 +389,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByOwnerIdFutureState(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService
+        List<BookingResponseDto> actualBookings = bookingService
                 .findBookingByStateForOwner(0L, "Future", Pageable.unpaged());
 
         assertNotNull(actualBookings);
@@ -359,7 +402,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByOwnerIdAndStatus(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService
+        List<BookingResponseDto> actualBookings = bookingService
                 .findBookingByStateForOwner(0L, "waiting", Pageable.unpaged());
 
         assertNotNull(actualBookings);
@@ -372,7 +415,7 @@ class BookingServiceImplTest {
         when(bookingRepository.findByOwnerIdAndStatus(anyLong(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<Booking> actualBookings = bookingService
+        List<BookingResponseDto> actualBookings = bookingService
                 .findBookingByStateForOwner(0L, "Rejected", Pageable.unpaged());
 
         assertNotNull(actualBookings);
@@ -387,6 +430,85 @@ class BookingServiceImplTest {
         assertEquals("Unknown state: unknown", badRequest.getMessage());
     }
 
+    @Test
+    void findBookingsByStateAfterCursor_whenStateIsPast_thenPastBranchIsSelected() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.now(), 5L);
+        BookingResponseDto bookingDto = new BookingResponseDto(0L, LocalDateTime.now(), LocalDateTime.now(),
+                BookingStatus.APPROVED, 0L, "item", 0L);
+        when(bookingRepository.findByBookerIdPastStateAfterCursor(anyLong(), any(), any(), any(), any()))
+                .thenReturn(List.of(bookingDto));
+
+        List<BookingResponseDto> actualBookings = bookingService.findBookingsByState(0L, "past", cursor, 10);
+
+        assertEquals(List.of(bookingDto), actualBookings);
+        verify(bookingRepository).findByBookerIdPastStateAfterCursor(eq(0L), any(), eq(cursor.getTimestamp()),
+                eq(cursor.getId()), eq(PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findBookingByStateForOwnerAfterCursor_whenStateIsWaiting_thenWaitingBranchIsSelected() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.now(), 5L);
+        when(bookingRepository.findByOwnerIdAndStatusAfterCursor(anyLong(), any(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        List<BookingResponseDto> actualBookings = bookingService.findBookingByStateForOwner(0L, "waiting", cursor, 10);
+
+        assertTrue(actualBookings.isEmpty());
+        verify(bookingRepository).findByOwnerIdAndStatusAfterCursor(0L, BookingStatus.WAITING,
+                cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, 10));
+    }
+
+    @Test
+    void findBookingsByStateAfterCursor_whenStateIsUnknown_thenBadRequestExceptionThrown() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.now(), 5L);
+
+        BadRequestException badRequest = assertThrows(BadRequestException.class, () -> bookingService
+                .findBookingsByState(0L, "unknown", cursor, 10));
+        assertEquals("Unknown state: unknown", badRequest.getMessage());
+    }
+
+    @Test
+    void findBookingViews_whenTwoStates_thenBookerAndOwnerPagesOfEachStateAreFound() {
+        BookingResponseDto bookerBooking = BookingResponseDto.builder().id(1L).build();
+        BookingResponseDto ownerBooking = BookingResponseDto.builder().id(2L).build();
+        doAnswer(invocationOnMock -> {
+            invocationOnMock.<Runnable>getArgument(0).run();
+            return null;
+        }).when(bookingQueryExecutor).execute(any());
+        doAnswer(invocationOnMock -> invocationOnMock.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(bookingQueryTransaction).execute(any());
+        when(bookingRepository.findByBookerId(anyLong(), any())).thenReturn(List.of(bookerBooking));
+        when(bookingRepository.findByOwnerId(anyLong(), any())).thenReturn(List.of(ownerBooking));
+        when(bookingRepository.findByBookerIdAndStatusIs(anyLong(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findByOwnerIdAndStatus(anyLong(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        BookingViewsDto views = bookingService.findBookingViews(0L, List.of("waiting", "all", "ALL"), 20, 10);
+
+        assertEquals(List.of("WAITING", "ALL"), List.copyOf(views.getBooker().keySet()));
+        assertEquals(List.of("WAITING", "ALL"), List.copyOf(views.getOwner().keySet()));
+        assertEquals(List.of(bookerBooking), views.getBooker().get("ALL"));
+        assertEquals(List.of(ownerBooking), views.getOwner().get("ALL"));
+        assertTrue(views.getBooker().get("WAITING").isEmpty());
+        verify(userService).checkUserExists(0L);
+        verify(bookingRepository).findByBookerId(0L,
+                PageRequest.of(2, 10, Sort.by("start").descending().and(Sort.by("id").descending())));
+        verify(bookingRepository).findByOwnerIdAndStatus(0L, BookingStatus.WAITING, PageRequest.of(2, 10));
+        verify(bookingQueryExecutor, times(3)).execute(any());
+        verify(bookingQueryTransaction, times(4)).execute(any());
+    }
+
+    @Test
+    void findBookingViews_whenStateIsUnknown_thenBadRequestExceptionThrownBeforeQueries() {
+        BadRequestException badRequest = assertThrows(BadRequestException.class, () -> bookingService
+                .findBookingViews(0L, List.of("all", "unknown"), 0, 10));
+
+        assertEquals("Unknown state: unknown", badRequest.getMessage());
+        verify(bookingQueryExecutor, never()).execute(any());
+        verify(bookingRepository, never()).findByBookerId(anyLong(), any());
+    }
+
     private Booking makeBooking(Long id, LocalDateTime start,
                                 LocalDateTime end, Item item, User booker, BookingStatus status) {
         Booking booking = new Booking();
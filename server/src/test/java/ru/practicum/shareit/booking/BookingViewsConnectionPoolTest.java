@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingViewsDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * More concurrent /bookings/views calls than pooled connections: a caller holding a connection while it waits
+ * for its queries on bookingQueryExecutor would starve them until the connection timeout.
+ */
+@SpringBootTest(
+        properties = {
+                "db.name=test",
+                "spring.datasource.url=jdbc:h2:mem:booking-views",
+                "spring.datasource.hikari.maximum-pool-size=1",
+                "spring.datasource.hikari.connection-timeout=5000"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingViewsConnectionPoolTest {
+    private static final int CALLS = 4;
+
+    private final BookingService service;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void findBookingViews_whenMoreConcurrentCallsThanConnections_thenAllAnswered() throws Exception {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@views.pool").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@views.pool").build());
+        Item item = itemRepository.save(Item.builder().name("Drill").description("Drill").available(true)
+                .ownerId(owner.getId()).build());
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(Booking.builder().start(now.minusDays(2)).end(now.minusDays(1)).item(item)
+                .booker(booker).status(BookingStatus.APPROVED).build());
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLS);
+        try {
+            List<Future<BookingViewsDto>> views = new ArrayList<>();
+            for (int i = 0; i < CALLS; i++) {
+                views.add(callers.submit(() -> service.findBookingViews(booker.getId(),
+                        List.of("ALL", "PAST", "WAITING"), 0, 10)));
+            }
+            for (Future<BookingViewsDto> view : views) {
+                assertThat(view.get(30, TimeUnit.SECONDS).getBooker().get("PAST"), hasSize(1));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
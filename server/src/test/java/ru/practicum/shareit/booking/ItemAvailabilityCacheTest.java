@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityCacheTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private ItemAvailabilityCache availabilityCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(availabilityCache, "maxItems", 100);
+        when(bookingRepository.findByItemIdAndStatusOrderByStart(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(
+                        window(NOON, NOON.plusHours(2)),
+                        window(NOON.plusHours(1), NOON.plusHours(3)),
+                        window(NOON.plusHours(4), NOON.plusHours(5))));
+    }
+
+    @Test
+    void isFree_whenWindowOverlapsBooking_thenFalse() {
+        assertThat(availabilityCache.isFree(1L, NOON.minusHours(1), NOON.plusMinutes(1)), equalTo(false));
+        assertThat(availabilityCache.isFree(1L, NOON.plusHours(2), NOON.plusHours(4)), equalTo(false));
+        assertThat(availabilityCache.isFree(1L, NOON.plusHours(3), NOON.plusHours(4)), equalTo(true));
+        assertThat(availabilityCache.isFree(1L, NOON.minusHours(1), NOON), equalTo(true));
+        assertThat(availabilityCache.isFree(1L, NOON.plusHours(5), NOON.plusHours(9)), equalTo(true));
+        verify(bookingRepository, times(1)).findByItemIdAndStatusOrderByStart(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void findNextFreeStart_whenGapsBetweenBookings_thenFirstFittingGapReturned() {
+        assertThat(availabilityCache.findNextFreeStart(1L, NOON.minusHours(1), Duration.ofHours(1)),
+                equalTo(NOON.minusHours(1)));
+        assertThat(availabilityCache.findNextFreeStart(1L, NOON, Duration.ofHours(1)),
+                equalTo(NOON.plusHours(3)));
+        assertThat(availabilityCache.findNextFreeStart(1L, NOON, Duration.ofHours(2)),
+                equalTo(NOON.plusHours(5)));
+    }
+
+    @Test
+    void invalidate_whenOutsideTransaction_thenReloadedOnNextRequest() {
+        availabilityCache.isFree(1L, NOON, NOON.plusHours(1));
+        availabilityCache.invalidate(1L);
+        availabilityCache.isFree(1L, NOON, NOON.plusHours(1));
+
+        verify(bookingRepository, times(2)).findByItemIdAndStatusOrderByStart(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void invalidate_whenCalledDuringLoad_thenLoadedWindowsNotKept() {
+        when(bookingRepository.findByItemIdAndStatusOrderByStart(1L, BookingStatus.APPROVED))
+                .thenAnswer(invocationOnMock -> {
+                    availabilityCache.invalidate(1L);
+                    return List.of(window(NOON, NOON.plusHours(1)));
+                });
+
+        assertThat(availabilityCache.isFree(1L, NOON, NOON.plusHours(1)), equalTo(false));
+        assertThat(availabilityCache.isFree(1L, NOON.plusHours(1), NOON.plusHours(2)), equalTo(true));
+
+        verify(bookingRepository, times(2)).findByItemIdAndStatusOrderByStart(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void isFree_whenLoadFails_thenNextRequestLoadsAgain() {
+        when(bookingRepository.findByItemIdAndStatusOrderByStart(1L, BookingStatus.APPROVED))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> availabilityCache.isFree(1L, NOON, NOON.plusHours(1)));
+        assertThat(availabilityCache.isFree(1L, NOON, NOON.plusHours(1)), equalTo(true));
+    }
+
+    private BookingWindow window(LocalDateTime start, LocalDateTime end) {
+        return new BookingWindow() {
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
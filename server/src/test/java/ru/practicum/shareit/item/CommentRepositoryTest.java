@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.EntityCacheConfig;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+@DataJpaTest
+@Import(EntityCacheConfig.class)
+class CommentRepositoryTest {
+    @Autowired
+    TestEntityManager em;
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Test
+    void findNewestIdsByItemIdIn_whenLimitSet_thenNewestCommentsOfEachItem() {
+        User author = em.persist(User.builder().name("Ivan").email("ivan@comments.email").build());
+        Item drill = makeItem("Drill", author);
+        Item saw = makeItem("Saw", author);
+        Item hammer = makeItem("Hammer", author);
+        LocalDateTime now = LocalDateTime.now();
+        makeComment(drill, author, now.minusDays(3));
+        Comment drillNewest = makeComment(drill, author, now.minusDays(1));
+        Comment drillMiddle = makeComment(drill, author, now.minusDays(2));
+        Comment sawOnly = makeComment(saw, author, now.minusDays(5));
+        makeComment(hammer, author, now);
+
+        List<Long> ids = commentRepository.findNewestIdsByItemIdIn(List.of(drill.getId(), saw.getId()), 2);
+
+        assertThat(ids, containsInAnyOrder(drillNewest.getId(), drillMiddle.getId(), sawOnly.getId()));
+        assertThat(commentRepository.findNewestIdsByItemIdIn(List.of(drill.getId()), 1),
+                containsInAnyOrder(drillNewest.getId()));
+        assertThat(commentRepository.findNewestIdsByItemIdIn(List.of(-1L), 2), empty());
+        assertThat(commentRepository.findByIdInOrderByCreatedDesc(ids),
+                contains(drillNewest, drillMiddle, sawOnly));
+    }
+
+    private Item makeItem(String name, User owner) {
+        return em.persist(Item.builder().name(name).description(name).available(true).ownerId(owner.getId()).build());
+    }
+
+    private Comment makeComment(Item item, User author, LocalDateTime created) {
+        return em.persist(Comment.builder().text("text").item(item).author(author).created(created).build());
+    }
+}
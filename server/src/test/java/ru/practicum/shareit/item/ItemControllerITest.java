@@ -9,11 +9,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithDateAndCommentsDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static org.hamcrest.Matchers.is;
@@ -140,6 +142,26 @@ class ItemControllerITest {
         verify(itemService).getItemsByQuery(userId, "query", 1, 10);
     }
 
+    @SneakyThrows
+    @Test
+    void checkAvailability() {
+        Long userId = 1L;
+        long itemId = 0L;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        LocalDateTime end = start.plusHours(2);
+        when(itemService.checkAvailability(any(), any(), any(), any()))
+                .thenReturn(new ItemAvailabilityDto(itemId, start, end, false));
+
+        mockMvc.perform(get("/items/" + itemId + "/availability")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("start", "2030-01-01T12:00:00")
+                        .param("end", "2030-01-01T14:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(itemId), Long.class))
+                .andExpect(jsonPath("$.available", is(false)));
+        verify(itemService).checkAvailability(userId, itemId, start, end);
+    }
+
     @SneakyThrows
     @Test
     void createComment() {
@@ -3,7 +3,9 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.EntityCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
@@ -13,6 +15,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.iterableWithSize;
 
 @DataJpaTest
+@Import(EntityCacheConfig.class)
 class ItemRepositoryTest {
     @Autowired
     ItemRepository itemRepository;
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void enableIndex() {
+        ReflectionTestUtils.setField(itemSearchIndex, "enabled", true);
+    }
+
+    @Test
+    void rebuild_whenItemsInRepository_thenItemsSearchable() {
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(
+                        new Item(1L, "Дрель", "Простая дрель", true, 0L, null),
+                        new Item(2L, "Отвертка", "Аккумуляторная отвертка", true, 0L, null)));
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(eq(2L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        itemSearchIndex.rebuild();
+
+        assertThat(itemSearchIndex.search("дРелЬ", PageRequest.of(0, 10)), equalTo(List.of(1L)));
+        assertThat(itemSearchIndex.search("аккУМУляторная", PageRequest.of(0, 10)), equalTo(List.of(2L)));
+    }
+
+    @Test
+    void search_whenSeveralTokens_thenAllTokensMatchedByPrefix() {
+        itemSearchIndex.index(new Item(1L, "Drill", "Cordless drill", true, 0L, null));
+        itemSearchIndex.index(new Item(2L, "Screwdriver", "Cordless screwdriver", true, 0L, null));
+        itemSearchIndex.index(new Item(3L, "Hammer", "Claw hammer", true, 0L, null));
+
+        assertThat(itemSearchIndex.search("cord", PageRequest.of(0, 10)), equalTo(List.of(1L, 2L)));
+        assertThat(itemSearchIndex.search("cordless dri", PageRequest.of(0, 10)), equalTo(List.of(1L)));
+        assertThat(itemSearchIndex.search("cord", PageRequest.of(1, 1)), equalTo(List.of(2L)));
+        assertThat(itemSearchIndex.search("cord", PageRequest.of(0, 1)), equalTo(List.of(1L)));
+        assertThat(itemSearchIndex.search("   ", PageRequest.of(0, 10)), empty());
+    }
+
+    @Test
+    void index_whenItemUpdated_thenOldTokensRemovedAndUnavailableItemsSkipped() {
+        Item item = new Item(1L, "Drill", "Cordless drill", true, 0L, null);
+        itemSearchIndex.index(item);
+
+        item.setName("Hammer");
+        item.setDescription("Claw hammer");
+        itemSearchIndex.index(item);
+
+        assertThat(itemSearchIndex.search("drill", PageRequest.of(0, 10)), empty());
+        assertThat(itemSearchIndex.search("hammer", PageRequest.of(0, 10)), equalTo(List.of(1L)));
+
+        item.setAvailable(false);
+        itemSearchIndex.index(item);
+
+        assertThat(itemSearchIndex.search("hammer", PageRequest.of(0, 10)), empty());
+    }
+}
@@ -148,6 +148,48 @@ class ItemServiceImplIntegrationTest {
         }
     }
 
+    @Test
+    void findItemsByUserIdWithBookings() {
+        User booker = new User(null, "Booker", "booker@email");
+        em.persist(booker);
+        Item item = new Item(null, "name", "description", true, user.getId(), null);
+        Item otherItem = new Item(null, "other", "description", true, user.getId(), null);
+        em.persist(item);
+        em.persist(otherItem);
+        LocalDateTime now = LocalDateTime.now();
+        Booking oldBooking = new Booking(null, now.minusDays(5), now.minusDays(4),
+                item, booker, BookingStatus.APPROVED);
+        Booking lastBooking = new Booking(null, now.minusDays(2), now.minusDays(1),
+                item, booker, BookingStatus.APPROVED);
+        Booking rejectedBooking = new Booking(null, now.minusHours(1), now.plusHours(1),
+                item, booker, BookingStatus.REJECTED);
+        Booking nextBooking = new Booking(null, now.plusDays(1), now.plusDays(2),
+                item, booker, BookingStatus.APPROVED);
+        Booking laterBooking = new Booking(null, now.plusDays(3), now.plusDays(4),
+                item, booker, BookingStatus.APPROVED);
+        Booking otherNextBooking = new Booking(null, now.plusDays(5), now.plusDays(6),
+                otherItem, booker, BookingStatus.APPROVED);
+        for (Booking booking : List.of(oldBooking, lastBooking, rejectedBooking,
+                nextBooking, laterBooking, otherNextBooking)) {
+            em.persist(booking);
+        }
+        em.flush();
+
+        List<ItemWithDateAndCommentsDto> targetItems = service.findItemsByUserId(user.getId(), 0, 10);
+
+        assertThat(targetItems, hasSize(2));
+        assertThat(targetItems, hasItem(allOf(
+                hasProperty("id", equalTo(item.getId())),
+                hasProperty("lastBooking", hasProperty("id", equalTo(lastBooking.getId()))),
+                hasProperty("nextBooking", hasProperty("id", equalTo(nextBooking.getId())))
+        )));
+        assertThat(targetItems, hasItem(allOf(
+                hasProperty("id", equalTo(otherItem.getId())),
+                hasProperty("lastBooking", nullValue()),
+                hasProperty("nextBooking", hasProperty("id", equalTo(otherNextBooking.getId()))))
+        ));
+    }
+
     @Test
     void getItemsByQuery() {
         List<Item> sourceItems = List.of(
@@ -7,18 +7,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
-import ru.practicum.shareit.booking.Booking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemAvailabilityCache;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithDateAndCommentsDto;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -45,12 +53,16 @@ class ItemServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
     private UserService userService;
     @Mock
     private BookingRepository bookingRepository;
     @Mock
     private CommentRepository commentRepository;
     @Mock
+    private ItemAvailabilityCache availabilityCache;
+    @Mock
     private ItemMapper itemMapper;
     @Mock
     private UserMapper userMapper;
@@ -90,6 +102,7 @@ class ItemServiceImplTest {
 
         assertThat(actualItem, equalTo(item));
         verify(itemRepository).save(any());
+        verify(itemSearchIndex).index(item);
     }
 
     @Test
@@ -128,7 +141,7 @@ class ItemServiceImplTest {
     }
 
     @Test
-    void findItemById_whenUserIsNotOwner_thenReturnedItem() {
+    void findItemById_whenUserIsOwner_thenReturnedItem() {
         Long userId = 0L;
         when(itemRepository.findById(any())).thenReturn(Optional.of(item));
         when(commentRepository.findByItemId(anyLong())).thenReturn(Collections.emptyList());
@@ -144,7 +157,27 @@ class ItemServiceImplTest {
         assertThat(dto.getComments(), equalTo(Collections.emptyList()));
         verify(itemRepository, times(1)).findById(any());
         verify(commentRepository, times(1)).findByItemId(any());
-        verify(bookingRepository, times(2)).findByItemIdOrderByStart(any());
+        verify(bookingRepository, times(1))
+                .findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(any(), any(), any());
+        verify(bookingRepository, times(1))
+                .findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(any(), any(), any());
+    }
+
+    @Test
+    void findItemById_whenUserIsNotOwner_thenBookingsAreNotRequested() {
+        Long userId = 1L;
+        when(itemRepository.findById(any())).thenReturn(Optional.of(item));
+        when(commentRepository.findByItemId(anyLong())).thenReturn(Collections.emptyList());
+
+        ItemWithDateAndCommentsDto dto = itemService.findItemById(userId, item.getId());
+
+        assertThat(dto.getId(), equalTo(item.getId()));
+        assertThat(dto.getLastBooking(), nullValue());
+        assertThat(dto.getNextBooking(), nullValue());
+        verify(bookingRepository, never())
+                .findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(any(), any(), any());
+        verify(bookingRepository, never())
+                .findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(any(), any(), any());
     }
 
     @Test
@@ -165,7 +198,34 @@ class ItemServiceImplTest {
             assertThat(actualItemDtos,
                     hasItem(hasProperty("id", equalTo(item.getId()))));
         }
-        verify(commentRepository, times(1)).findByOwnerId(any());
+        verify(commentRepository, times(1)).findByItemIdInOrderByCreatedDesc(any());
+        verify(bookingRepository, times(1)).findLastBookingsByItemIds(any(), any(), any());
+        verify(bookingRepository, times(1)).findNextBookingsByItemIds(any(), any(), any());
+    }
+
+    @Test
+    void findItemsByUserId_whenCommentsLimitSet_thenNewestCommentsAttachedToTheirItems() {
+        ReflectionTestUtils.setField(itemService, "commentsLimit", 1);
+        Item otherItem = new Item(1L, "other", "description", true, 0L, null);
+        Comment newest = Comment.builder().id(2L).item(item).build();
+        Comment otherComment = Comment.builder().id(3L).item(otherItem).build();
+        CommentDto newestDto = new CommentDto(2L, "newest", null, null);
+        CommentDto otherDto = new CommentDto(3L, "other", null, null);
+        when(itemRepository.findByOwnerIdOrderById(anyLong(), any(PageRequest.class)))
+                .thenReturn(List.of(item, otherItem));
+        when(commentRepository.findNewestIdsByItemIdIn(List.of(item.getId(), otherItem.getId()), 1))
+                .thenReturn(List.of(2L, 3L));
+        when(commentRepository.findByIdInOrderByCreatedDesc(List.of(2L, 3L)))
+                .thenReturn(List.of(newest, otherComment));
+        when(commentMapper.toCommentDto(newest)).thenReturn(newestDto);
+        when(commentMapper.toCommentDto(otherComment)).thenReturn(otherDto);
+
+        List<ItemWithDateAndCommentsDto> actualItemDtos = itemService.findItemsByUserId(0L, 0, 10);
+
+        assertThat(actualItemDtos, hasSize(2));
+        assertThat(actualItemDtos.get(0).getComments(), equalTo(List.of(newestDto)));
+        assertThat(actualItemDtos.get(1).getComments(), equalTo(List.of(otherDto)));
+        verify(commentRepository, never()).findByItemIdInOrderByCreatedDesc(any());
     }
 
     @Test
@@ -181,6 +241,58 @@ class ItemServiceImplTest {
         verify(itemRepository).search(any(), any(PageRequest.class));
     }
 
+    @Test
+    void getItemsByQuery_whenSearchIndexEnabled_thenItemsFetchedByIndexedIds() {
+        Long userId = 0L;
+        Item otherItem = new Item(1L, "other", "description", true, 0L, null);
+        when(itemSearchIndex.isEnabled()).thenReturn(true);
+        when(itemSearchIndex.search("query", PageRequest.of(0, 10, Sort.by("id")))).thenReturn(List.of(0L, 1L));
+        when(itemRepository.findAllById(List.of(0L, 1L))).thenReturn(List.of(otherItem, item));
+        when(itemMapper.mapToItemDto(anyIterable())).thenReturn(List.of(itemDto));
+
+        itemService.getItemsByQuery(userId, "query", 0, 10);
+
+        verify(itemMapper).mapToItemDto(List.of(item, otherItem));
+        verify(itemRepository, never()).search(any(), any());
+    }
+
+    @Test
+    void getItemsByQuery_whenSearchIndexEnabledOrNot_thenSamePageRequested() {
+        Pageable page = PageRequest.of(1, 10, Sort.by("id"));
+        when(itemRepository.search("query", page)).thenReturn(Collections.emptyList());
+
+        itemService.getItemsByQuery(0L, "query", 15, 10);
+        when(itemSearchIndex.isEnabled()).thenReturn(true);
+        itemService.getItemsByQuery(0L, "query", 15, 10);
+
+        verify(itemRepository).search("query", page);
+        verify(itemSearchIndex).search("query", page);
+    }
+
+    @Test
+    void findNextAvailability_whenItemIsBusy_thenNextFreeWindowOfSameLengthReturned() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        when(itemRepository.existsById(item.getId())).thenReturn(true);
+        when(availabilityCache.findNextFreeStart(item.getId(), start, Duration.ofHours(2)))
+                .thenReturn(start.plusHours(3));
+
+        ItemAvailabilityDto availability = itemService
+                .findNextAvailability(0L, item.getId(), start, start.plusHours(2));
+
+        assertThat(availability.getStart(), equalTo(start.plusHours(3)));
+        assertThat(availability.getEnd(), equalTo(start.plusHours(5)));
+        assertThat(availability.getAvailable(), equalTo(true));
+    }
+
+    @Test
+    void checkAvailability_whenEndBeforeStart_thenBadRequestExceptionThrown() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        assertThrows(BadRequestException.class, () -> itemService
+                .checkAvailability(0L, item.getId(), start, start.minusHours(1)));
+        verify(availabilityCache, never()).isFree(any(), any(), any());
+    }
+
     @Test
     void createComment_whenValidData_thenSavedComment() {
         Long userId = 0L;
@@ -188,7 +300,7 @@ class ItemServiceImplTest {
         when(itemRepository.findById(any())).thenReturn(Optional.of(item));
         when(bookingRepository.findByBookerIdAndEndBefore(any(), any(), any()))
                 .thenReturn(List.of(
-                        new Booking(null, null, null, item, null, null)));
+                        new BookingResponseDto(null, null, null, null, item.getId(), item.getName(), null)));
 
         itemService.createComment(userId, item.getId(), dto);
 
@@ -203,7 +315,7 @@ class ItemServiceImplTest {
         when(itemRepository.findById(any())).thenReturn(Optional.of(item));
         when(bookingRepository.findByBookerIdAndEndBefore(any(), any(), any()))
                 .thenReturn(List.of(
-                        new Booking(null, null, null, item, null, null)));
+                        new BookingResponseDto(null, null, null, null, item.getId(), item.getName(), null)));
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> itemService
                 .createComment(userId, itemId, dto));
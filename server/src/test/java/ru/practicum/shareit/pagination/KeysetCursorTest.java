@@ -0,0 +1,28 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_whenEncodedCursor_thenSamePosition() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2030, 1, 1, 12, 0, 0, 123000), 42L);
+
+        assertThat(KeysetCursor.decode(cursor.encode()), equalTo(cursor));
+    }
+
+    @Test
+    void decode_whenMalformedToken_thenBadRequestExceptionThrown() {
+        BadRequestException badRequest = assertThrows(BadRequestException.class,
+                () -> KeysetCursor.decode("not a cursor"));
+
+        assertThat(badRequest.getMessage(), equalTo("Invalid cursor: not a cursor"));
+    }
+}
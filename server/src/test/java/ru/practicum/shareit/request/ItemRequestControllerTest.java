@@ -8,12 +8,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +27,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -90,6 +94,28 @@ class ItemRequestControllerTest {
         verify(requestService).getAllItemRequests(userId, 1, 10);
     }
 
+    @SneakyThrows
+    @Test
+    void getAllItemRequestsWithCursor() {
+        Long userId = 1L;
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 5L);
+        ItemRequestDto request = ItemRequestDto.builder()
+                .id(7L)
+                .description("description")
+                .created(LocalDateTime.of(2030, 1, 2, 12, 0))
+                .build();
+        when(requestService.getAllItemRequests(userId, cursor, 1)).thenReturn(List.of(request));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1")
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(7)))
+                .andExpect(header().string(ItemRequestController.NEXT_CURSOR_HEADER,
+                        new KeysetCursor(request.getCreated(), request.getId()).encode()));
+    }
+
     @SneakyThrows
     @Test
     void getItemRequestById() {
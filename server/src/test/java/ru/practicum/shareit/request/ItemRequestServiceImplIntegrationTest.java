@@ -6,16 +6,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
@@ -117,6 +122,52 @@ class ItemRequestServiceImplIntegrationTest {
         }
     }
 
+    @Test
+    void getItemRequestsWithItems() {
+        ItemRequest first = ItemRequest.builder()
+                .description("description1")
+                .requestor(requestor)
+                .created(LocalDateTime.now())
+                .build();
+        ItemRequest second = ItemRequest.builder()
+                .description("description2")
+                .requestor(requestor)
+                .created(LocalDateTime.now())
+                .build();
+        em.persist(first);
+        em.persist(second);
+        Item drill = Item.builder()
+                .name("Drill")
+                .description("description")
+                .available(true)
+                .ownerId(user.getId())
+                .requestId(first.getId())
+                .build();
+        Item saw = Item.builder()
+                .name("Saw")
+                .description("description")
+                .available(true)
+                .ownerId(user.getId())
+                .requestId(first.getId())
+                .build();
+        em.persist(drill);
+        em.persist(saw);
+        em.flush();
+
+        List<ItemRequestDto> targetItemRequests = service.getItemRequests(requestor.getId());
+
+        assertThat(targetItemRequests, hasSize(2));
+        for (ItemRequestDto itemRequest : targetItemRequests) {
+            if (itemRequest.getId().equals(first.getId())) {
+                assertThat(itemRequest.getItems(), contains(
+                        hasProperty("name", equalTo("Drill")),
+                        hasProperty("name", equalTo("Saw"))));
+            } else {
+                assertThat(itemRequest.getItems(), empty());
+            }
+        }
+    }
+
     @Test
     void getAllItemRequests() {
         List<ItemRequest> sourceItemRequests = List.of(
@@ -154,6 +205,45 @@ class ItemRequestServiceImplIntegrationTest {
         }
     }
 
+    @Test
+    void getAllItemRequestsAfterCursor() {
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ItemRequest own = ItemRequest.builder()
+                .description("own")
+                .requestor(user)
+                .created(created)
+                .build();
+        ItemRequest first = ItemRequest.builder()
+                .description("first")
+                .requestor(requestor)
+                .created(created)
+                .build();
+        ItemRequest second = ItemRequest.builder()
+                .description("second")
+                .requestor(requestor)
+                .created(created)
+                .build();
+        ItemRequest third = ItemRequest.builder()
+                .description("third")
+                .requestor(requestor)
+                .created(created.plusMinutes(1))
+                .build();
+        for (ItemRequest itemRequest : List.of(own, first, second, third)) {
+            em.persist(itemRequest);
+        }
+        em.flush();
+
+        List<ItemRequestDto> firstPage = service.getAllItemRequests(user.getId(), 0, 2);
+        List<ItemRequestDto> secondPage = service.getAllItemRequests(user.getId(),
+                new KeysetCursor(firstPage.get(1).getCreated(), firstPage.get(1).getId()), 2);
+
+        assertThat(firstPage, contains(
+                hasProperty("description", equalTo("first")),
+                hasProperty("description", equalTo("second"))));
+        assertThat(secondPage, contains(
+                hasProperty("description", equalTo("third"))));
+    }
+
     @Test
     void getItemRequestById() {
         ItemRequest itemRequest = ItemRequest.builder()
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
 import java.util.List;
@@ -15,6 +20,7 @@ import java.util.List;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
@@ -29,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class UserServiceImplIntegrationTest {
     private final EntityManager em;
     private final UserService service;
+    private final EntityManagerFactory emf;
     UserMapper userMapper = new UserMapper();
 
     @Test
@@ -129,6 +136,24 @@ class UserServiceImplIntegrationTest {
         assertThrows(NoResultException.class, query::getSingleResult);
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findUserById_whenCachedUserUpdatedAndDeleted_thenCacheEvicted() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        Long id = service.create(new User(null, "Cached", "cached@email")).getId();
+        service.findUserById(id);
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        service.findUserById(id);
+        assertThat(statistics.getSecondLevelCacheHitCount(), greaterThan(hits));
+
+        service.update(id, makeUserDto("Updated", null));
+        assertThat(service.findUserById(id).getName(), equalTo("Updated"));
+
+        service.deleteUser(id);
+        assertThrows(NotFoundException.class, () -> service.findUserById(id));
+    }
+
     private UserDto makeUserDto(String name, String email) {
         UserDto dto = new UserDto();
         dto.setName(name);
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -18,6 +19,8 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +31,8 @@ class UserServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private UserExistenceCache userExistenceCache;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -74,6 +79,7 @@ class UserServiceImplTest {
 
         assertThat(actualUserDto, equalTo(dto));
         verify(userRepository).save(user);
+        verify(userExistenceCache).evict(0L);
     }
 
     @Test
@@ -86,4 +92,38 @@ class UserServiceImplTest {
         assertThat(actualUserDto, equalTo(dto));
         verify(userRepository).findById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkUserExists_whenUserCached_thenRepositoryNotQueried() {
+        when(userExistenceCache.contains(0L)).thenReturn(true);
+
+        userService.checkUserExists(0L);
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void checkUserExists_whenUserExists_thenUserCached() {
+        when(userRepository.existsById(0L)).thenReturn(true);
+
+        userService.checkUserExists(0L);
+
+        verify(userExistenceCache).put(0L);
+    }
+
+    @Test
+    void checkUserExists_whenUserNotFound_thenNotFoundExceptionThrown() {
+        when(userRepository.existsById(0L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> userService.checkUserExists(0L));
+        verify(userExistenceCache, never()).put(anyLong());
+    }
+
+    @Test
+    void deleteUser_whenUserDeleted_thenUserEvicted() {
+        userService.deleteUser(0L);
+
+        verify(userRepository).deleteById(0L);
+        verify(userExistenceCache).evict(0L);
+    }
+}